@@ -56,18 +56,25 @@ CREATE TABLE follows (
         CHECK (follower_id != followee_id)
 );
 
-CREATE INDEX idx_follows_follower_id ON follows(follower_id);
-CREATE INDEX idx_follows_followee_id ON follows(followee_id);
+-- Keyset indexes for the follower/following lists; they lead with the same column as the old
+-- single-column indexes and INCLUDE the other side so pages are index-only scans.
+CREATE INDEX idx_follows_followee_keyset ON follows(followee_id, created_at DESC, id DESC) INCLUDE (follower_id);
+CREATE INDEX idx_follows_follower_keyset ON follows(follower_id, created_at DESC, id DESC) INCLUDE (followee_id);
 CREATE INDEX idx_follows_created_at ON follows(created_at);
 
+-- Hash-partitioned by user_id: one user's timeline always lives in a single partition, and
+-- retention/vacuum run one partition at a time. The partition count is read from the catalog
+-- by FeedPartitionRepository, so adding partitions only requires changing this file.
 CREATE TABLE feed_items (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     user_id BIGINT NOT NULL,
     post_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
     is_read BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     
+    CONSTRAINT pk_feed_items 
+        PRIMARY KEY (user_id, id),
     CONSTRAINT fk_feed_items_user_id 
         FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT fk_feed_items_post_id 
@@ -76,13 +83,45 @@ CREATE TABLE feed_items (
         FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE,
     CONSTRAINT unique_feed_item 
         UNIQUE (user_id, post_id)
-);
+) PARTITION BY HASH (user_id);
+
+CREATE TABLE feed_items_p0 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE feed_items_p1 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE feed_items_p2 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE feed_items_p3 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE feed_items_p4 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE feed_items_p5 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE feed_items_p6 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE feed_items_p7 PARTITION OF feed_items FOR VALUES WITH (MODULUS 8, REMAINDER 7);
 
 CREATE INDEX idx_feed_items_user_created ON feed_items(user_id, created_at DESC);
 CREATE INDEX idx_feed_items_post_id ON feed_items(post_id);
 CREATE INDEX idx_feed_items_author_id ON feed_items(author_id);
 CREATE INDEX idx_feed_items_is_read ON feed_items(user_id, is_read);
 
+-- Alternative timeline storage (feed.timeline.storage=segments): each row packs up to
+-- feed.timeline.segment-capacity (postId, authorId, epochMillis) triples of 24 bytes each.
+-- With the default of 64 entries the payload stays below the TOAST threshold, and the lower
+-- fillfactor leaves room for HOT updates when appending to the head segment.
+-- min/max_epoch_millis bound the entries of a segment so reads can merge segments by time;
+-- they are deliberately not indexed, which would rule out HOT updates on append.
+CREATE TABLE timeline_segments (
+    user_id BIGINT NOT NULL,
+    segment_no INTEGER NOT NULL,
+    item_count INTEGER NOT NULL DEFAULT 0,
+    payload BYTEA NOT NULL,
+    min_epoch_millis BIGINT NOT NULL DEFAULT 0,
+    max_epoch_millis BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT pk_timeline_segments 
+        PRIMARY KEY (user_id, segment_no),
+    CONSTRAINT fk_timeline_segments_user_id 
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) WITH (fillfactor = 70);
+
+ALTER TABLE timeline_segments ALTER COLUMN payload SET STORAGE MAIN;
+
 CREATE TABLE likes (
     id BIGSERIAL PRIMARY KEY,
     user_id BIGINT NOT NULL,
@@ -160,6 +199,17 @@ LEFT JOIN follows f2 ON u.id = f2.follower_id
 WHERE u.is_active = true
 GROUP BY u.id, u.username, u.full_name, u.created_at;
 
+CREATE TABLE user_statistics (
+    user_id BIGINT PRIMARY KEY,
+    posts_count BIGINT NOT NULL DEFAULT 0,
+    followers_count BIGINT NOT NULL DEFAULT 0,
+    following_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_user_statistics_user_id 
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
 
 INSERT INTO users (username, email, full_name, bio, last_login_at) VALUES
 ('john_doe', 'john@example.com', 'John Doe', 'Tech enthusiast and coffee lover', CURRENT_TIMESTAMP - INTERVAL '1 day'),
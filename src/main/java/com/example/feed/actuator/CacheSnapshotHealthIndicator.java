@@ -0,0 +1,34 @@
+package com.example.feed.actuator;
+
+import com.example.feed.service.CacheSnapshotService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheSnapshotHealthIndicator implements HealthIndicator {
+
+    private final CacheSnapshotService cacheSnapshotService;
+
+    public CacheSnapshotHealthIndicator(CacheSnapshotService cacheSnapshotService) {
+        this.cacheSnapshotService = cacheSnapshotService;
+    }
+
+    @Override
+    public Health health() {
+        CacheSnapshotService.RestoreState state = cacheSnapshotService.getRestoreState();
+        Health.Builder builder = switch (state) {
+            case PENDING, RESTORING -> Health.outOfService();
+            default -> Health.up();
+        };
+        builder.withDetail("state", state.name());
+
+        CacheSnapshotService.RestoreResult lastRestore = cacheSnapshotService.getLastRestore();
+        if (lastRestore != null) {
+            builder.withDetail("restoredTimelines", lastRestore.timelines())
+                    .withDetail("restoredPosts", lastRestore.posts())
+                    .withDetail("restoreDurationMs", lastRestore.durationMs());
+        }
+        return builder.build();
+    }
+}
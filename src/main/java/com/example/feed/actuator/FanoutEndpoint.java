@@ -0,0 +1,32 @@
+package com.example.feed.actuator;
+
+import com.example.feed.service.FanoutVisibilityTracker;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "fanout")
+public class FanoutEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final FanoutVisibilityTracker fanoutVisibilityTracker;
+
+    public FanoutEndpoint(FanoutVisibilityTracker fanoutVisibilityTracker) {
+        this.fanoutVisibilityTracker = fanoutVisibilityTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> fanout(@Nullable Integer limit) {
+        int effectiveLimit = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        return Map.of(
+                "inFlight", fanoutVisibilityTracker.countInFlight(),
+                "running", fanoutVisibilityTracker.countRunning(),
+                "deferred", fanoutVisibilityTracker.countDeferred(),
+                "slowestByAuthor", fanoutVisibilityTracker.slowestInFlightByAuthor(effectiveLimit));
+    }
+}
@@ -5,13 +5,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
     
     @Bean(name = "fanoutTaskExecutor")
-    public TaskExecutor fanoutTaskExecutor() {
+    public ThreadPoolTaskExecutor fanoutTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
@@ -20,4 +21,25 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "fanoutTaskScheduler")
+    public ThreadPoolTaskScheduler fanoutTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("FanoutScheduler-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    @Bean(name = "prewarmTaskExecutor")
+    public TaskExecutor prewarmTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setThreadNamePrefix("Prewarm-");
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
@@ -32,6 +32,8 @@ public class CacheConfig {
         cacheConfigurations.put("posts", defaultConfig.entryTtl(Duration.ofHours(6)));
         cacheConfigurations.put("userFeeds", defaultConfig.entryTtl(Duration.ofMinutes(15)));
         cacheConfigurations.put("feedItems", defaultConfig.entryTtl(Duration.ofHours(1)));
+        cacheConfigurations.put("commentThreads", defaultConfig.entryTtl(Duration.ofMinutes(30)));
+        cacheConfigurations.put("rankedFeeds", defaultConfig.entryTtl(Duration.ofSeconds(30)));
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
@@ -0,0 +1,66 @@
+package com.example.feed.config;
+
+import com.example.feed.datasource.ReadYourWritesTracker;
+import com.example.feed.datasource.ReplicaRoutingDataSource;
+import com.example.feed.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "feed.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            ReplicaRoutingProperties routingProperties,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicaPools = routingProperties.replicas().stream()
+                .map(replica -> {
+                    HikariDataSource pool = new HikariDataSource();
+                    pool.setPoolName(replica.name() != null ? replica.name() : replica.url());
+                    pool.setJdbcUrl(replica.url());
+                    pool.setUsername(replica.username() != null ? replica.username() : dataSourceProperties.getUsername());
+                    pool.setPassword(replica.password() != null ? replica.password() : dataSourceProperties.getPassword());
+                    pool.setDriverClassName(dataSourceProperties.getDriverClassName());
+                    pool.setMaximumPoolSize(replica.maximumPoolSize());
+                    pool.setMinimumIdle(replica.minimumIdle());
+                    pool.setReadOnly(true);
+                    pool.setInitializationFailTimeout(-1);
+                    return pool;
+                })
+                .toList();
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, readYourWritesTracker,
+                routingProperties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
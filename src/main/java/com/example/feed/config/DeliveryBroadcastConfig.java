@@ -0,0 +1,26 @@
+package com.example.feed.config;
+
+import com.example.feed.service.TimelineDeliveryBroadcaster;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes {@link TimelineDeliveryBroadcaster} to the delivery channel shared by all instances.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "feed.delivery.broadcast", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeliveryBroadcastConfig {
+
+    @Bean
+    public RedisMessageListenerContainer deliveryListenerContainer(RedisConnectionFactory redisConnectionFactory,
+            TimelineDeliveryBroadcaster timelineDeliveryBroadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(timelineDeliveryBroadcaster, new ChannelTopic(timelineDeliveryBroadcaster.getChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.feed.config;
+
+import com.example.feed.fanout.FanoutWorkQueue;
+import com.example.feed.fanout.InMemoryFanoutWorkQueue;
+import com.example.feed.fanout.RedisStreamFanoutWorkQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Work queue for distributed fan-out ({@code feed.fanout.mode=distributed}): a Redis Stream by
+ * default, or an in-memory queue with {@code feed.fanout.distributed.queue=memory}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "feed.fanout", name = "mode", havingValue = "distributed")
+public class FanoutQueueConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "feed.fanout.distributed", name = "queue", havingValue = "redis", matchIfMissing = true)
+    public FanoutWorkQueue redisFanoutWorkQueue(StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${feed.fanout.distributed.stream:feed:fanout}") String streamKey,
+            @Value("${feed.fanout.distributed.group:fanout-workers}") String group) {
+        return new RedisStreamFanoutWorkQueue(redisTemplate, objectMapper, streamKey, group);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "feed.fanout.distributed", name = "queue", havingValue = "memory")
+    public FanoutWorkQueue inMemoryFanoutWorkQueue() {
+        return new InMemoryFanoutWorkQueue();
+    }
+}
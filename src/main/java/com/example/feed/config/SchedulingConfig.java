@@ -0,0 +1,22 @@
+package com.example.feed.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * {@code @Scheduled} jobs run on {@code taskScheduler}, sized by {@code spring.task.scheduling.pool.size}
+ * so a long maintenance run does not hold back the flush jobs. It is declared explicitly because the
+ * separate {@code fanoutTaskScheduler} would otherwise make Boot back off its default scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
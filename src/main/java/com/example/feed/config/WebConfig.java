@@ -0,0 +1,23 @@
+package com.example.feed.config;
+
+import com.example.feed.controller.UserActivityInterceptor;
+import com.example.feed.datasource.ReplicaRoutingInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UserActivityInterceptor userActivityInterceptor;
+
+    public WebConfig(UserActivityInterceptor userActivityInterceptor) {
+        this.userActivityInterceptor = userActivityInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReplicaRoutingInterceptor());
+        registry.addInterceptor(userActivityInterceptor);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.feed.controller;
+
+import com.example.feed.dto.CommentDTO;
+import com.example.feed.dto.CommentThreadDTO;
+import com.example.feed.dto.CreateCommentRequest;
+import com.example.feed.service.CommentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/feed/posts/{postId}/comments")
+@Validated
+public class CommentController {
+
+    private final CommentService commentService;
+
+    public CommentController(CommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CommentThreadDTO> getComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (page == null) {
+            return ResponseEntity.ok(commentService.getThread(postId));
+        }
+        return ResponseEntity.ok(commentService.getRootThreads(postId, Math.max(0, page), Math.max(1, size)));
+    }
+
+    @PostMapping
+    public ResponseEntity<CommentDTO> addComment(
+            @RequestHeader("User-Id") Long userId,
+            @PathVariable Long postId,
+            @Valid @RequestBody CreateCommentRequest request) {
+
+        CommentDTO comment = commentService.addComment(userId, postId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(comment);
+    }
+}
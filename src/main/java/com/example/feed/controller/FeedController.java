@@ -1,26 +1,82 @@
 package com.example.feed.controller;
 
+import com.example.feed.dto.BulkCreatePostsRequest;
 import com.example.feed.dto.CreatePostRequest;
 import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.dto.LikeStatusDTO;
+import com.example.feed.dto.NotificationPageDTO;
+import com.example.feed.dto.TimelineDeltaDTO;
+import com.example.feed.dto.TimelinePageDTO;
 import com.example.feed.entity.Post;
 import com.example.feed.service.FeedService;
+import com.example.feed.service.HotCacheKeyTracker;
+import com.example.feed.service.LikeService;
+import com.example.feed.service.NoFanoutFeedService;
+import com.example.feed.service.NotificationService;
+import com.example.feed.service.PostAdmissionService;
+import com.example.feed.service.PostSearchIndex;
+import com.example.feed.service.RankedTimelineService;
+import com.example.feed.service.TimelineDeltaService;
+import com.example.feed.service.TimelineRebuildService;
+import com.example.feed.service.TimelineStreamRegistry;
+import com.example.feed.service.TimelineVersionRegistry;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/feed")
 @Validated
 public class FeedController {
     
     private final FeedService feedService;
+    private final HotCacheKeyTracker hotCacheKeyTracker;
+    private final TimelineStreamRegistry timelineStreamRegistry;
+    private final TimelineDeltaService timelineDeltaService;
+    private final TimelineVersionRegistry timelineVersionRegistry;
+    private final TimelineRebuildService timelineRebuildService;
+    private final NoFanoutFeedService noFanoutFeedService;
+    private final PostAdmissionService postAdmissionService;
+    private final PostSearchIndex postSearchIndex;
+    private final LikeService likeService;
+    private final NotificationService notificationService;
+    private final RankedTimelineService rankedTimelineService;
     
-    public FeedController(FeedService feedService) {
+    public FeedController(FeedService feedService,
+                          HotCacheKeyTracker hotCacheKeyTracker,
+                          TimelineStreamRegistry timelineStreamRegistry,
+                          TimelineDeltaService timelineDeltaService,
+                          TimelineVersionRegistry timelineVersionRegistry,
+                          TimelineRebuildService timelineRebuildService,
+                          NoFanoutFeedService noFanoutFeedService,
+                          PostAdmissionService postAdmissionService,
+                          PostSearchIndex postSearchIndex,
+                          LikeService likeService,
+                          NotificationService notificationService,
+                          RankedTimelineService rankedTimelineService) {
         this.feedService = feedService;
+        this.hotCacheKeyTracker = hotCacheKeyTracker;
+        this.timelineStreamRegistry = timelineStreamRegistry;
+        this.timelineDeltaService = timelineDeltaService;
+        this.timelineVersionRegistry = timelineVersionRegistry;
+        this.timelineRebuildService = timelineRebuildService;
+        this.noFanoutFeedService = noFanoutFeedService;
+        this.postAdmissionService = postAdmissionService;
+        this.postSearchIndex = postSearchIndex;
+        this.likeService = likeService;
+        this.notificationService = notificationService;
+        this.rankedTimelineService = rankedTimelineService;
     }
     
     @PostMapping("/posts")
@@ -28,18 +84,109 @@ public class FeedController {
             @RequestHeader("User-Id") Long userId,
             @Valid @RequestBody CreatePostRequest request) {
         
+        if (postAdmissionService.admitPost().rejected()) {
+            return tooManyRequests();
+        }
         Post post = feedService.createPost(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(post);
     }
     
+    @PostMapping("/posts/bulk")
+    public ResponseEntity<List<Post>> createPosts(
+            @RequestHeader("User-Id") Long userId,
+            @Valid @RequestBody BulkCreatePostsRequest request) {
+        
+        if (postAdmissionService.admitPost().rejected()) {
+            return tooManyRequests();
+        }
+        List<Post> posts = feedService.createPosts(userId, request.getPosts());
+        return ResponseEntity.status(HttpStatus.CREATED).body(posts);
+    }
+    
+    @DeleteMapping("/posts/{postId}")
+    public ResponseEntity<Void> deactivatePost(
+            @RequestHeader("User-Id") Long userId,
+            @PathVariable Long postId) {
+        
+        feedService.deactivatePost(userId, postId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/posts/{postId}/likes")
+    public ResponseEntity<LikeStatusDTO> likePost(
+            @RequestHeader("User-Id") Long userId,
+            @PathVariable Long postId) {
+        
+        return ResponseEntity.ok(likeService.like(userId, postId));
+    }
+    
+    @DeleteMapping("/posts/{postId}/likes")
+    public ResponseEntity<LikeStatusDTO> unlikePost(
+            @RequestHeader("User-Id") Long userId,
+            @PathVariable Long postId) {
+        
+        return ResponseEntity.ok(likeService.unlike(userId, postId));
+    }
+    
     @GetMapping("/timeline")
-    public ResponseEntity<Page<FeedItemDTO>> getUserFeed(
+    public ResponseEntity<TimelinePageDTO> getUserFeed(
             @RequestHeader("User-Id") Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "chronological") String mode,
+            WebRequest webRequest) {
+        
+        if ("ranked".equalsIgnoreCase(mode)) {
+            return ResponseEntity.ok(TimelinePageDTO.from(rankedTimelineService.getRankedFeed(userId, page, size)));
+        }
         
+        if (timelineRebuildService.isRebuilding(userId)) {
+            if (NegotiatedEtags.checkNotModified(webRequest, timelineVersionRegistry.pullFeedEtag(userId))) {
+                return null;
+            }
+            Page<FeedItemDTO> feed = noFanoutFeedService.getUserFeedPullModel(userId, page, size);
+            return ResponseEntity.ok(TimelinePageDTO.from(feed));
+        }
+        
+        hotCacheKeyTracker.recordTimelineRead(userId, page, size);
+        if (NegotiatedEtags.checkNotModified(webRequest, timelineVersionRegistry.timelineEtag(userId))) {
+            return null;
+        }
         Page<FeedItemDTO> feed = feedService.getUserFeed(userId, page, size);
-        return ResponseEntity.ok(feed);
+        return ResponseEntity.ok(TimelinePageDTO.from(feed));
+    }
+    
+    @GetMapping("/timeline/delta")
+    public DeferredResult<TimelineDeltaDTO> getTimelineDelta(
+            @RequestHeader("User-Id") Long userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "0") long waitMs,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        return timelineDeltaService.getDelta(userId, since, waitMs, limit);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<FeedItemDTO>> searchPosts(
+            @RequestHeader("User-Id") Long userId,
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        return ResponseEntity.ok(postSearchIndex.search(userId, query, limit));
+    }
+    
+    @GetMapping("/notifications")
+    public ResponseEntity<NotificationPageDTO> getNotifications(
+            @RequestHeader("User-Id") Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        return ResponseEntity.ok(notificationService.getNotifications(userId, before, limit));
+    }
+    
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTimeline(@RequestHeader("User-Id") Long userId) {
+        return timelineStreamRegistry.connect(userId);
     }
     
     @PostMapping("/follow/{followeeId}")
@@ -59,4 +206,10 @@ public class FeedController {
         feedService.unfollowUser(followerId, followeeId);
         return ResponseEntity.ok().build();
     }
+    
+    private <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(postAdmissionService.getRetryAfterSeconds()))
+                .build();
+    }
 }
\ No newline at end of file
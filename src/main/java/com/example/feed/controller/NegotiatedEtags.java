@@ -0,0 +1,51 @@
+package com.example.feed.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Conditional GET support for timelines served as JSON, CBOR or Smile. The same timeline version
+ * has one ETag per negotiated format, and every response carries {@code Vary: Accept} so caches do
+ * not answer a CBOR client with a JSON body or the other way round.
+ */
+final class NegotiatedEtags {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    private NegotiatedEtags() {}
+
+    static boolean checkNotModified(WebRequest webRequest, String etag) {
+        if (webRequest instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            servletWebRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return webRequest.checkNotModified(etag + "-" + negotiatedFormat(webRequest.getHeader(HttpHeaders.ACCEPT)));
+    }
+
+    static String negotiatedFormat(String accept) {
+        MediaType negotiated = MediaType.APPLICATION_JSON;
+        if (accept != null && !accept.isBlank()) {
+            try {
+                negotiated = pick(MediaType.parseMediaTypes(accept));
+            } catch (InvalidMediaTypeException e) {
+                negotiated = MediaType.APPLICATION_JSON;
+            }
+        }
+        return negotiated.getSubtype().replace("x-jackson-", "");
+    }
+
+    private static MediaType pick(List<MediaType> accepted) {
+        return accepted.stream()
+                .filter(type -> type.getQualityValue() > 0)
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .flatMap(type -> PRODUCIBLE.stream().filter(type::isCompatibleWith))
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.feed.controller;
 
 import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.dto.TimelinePageDTO;
 import com.example.feed.service.NoFanoutFeedService;
+import com.example.feed.service.TimelineVersionRegistry;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -15,16 +18,24 @@ import java.util.Map;
 public class NoFanoutFeedController {
 
     private final NoFanoutFeedService noFanoutFeedService;
+    private final TimelineVersionRegistry timelineVersionRegistry;
 
-    public NoFanoutFeedController(NoFanoutFeedService noFanoutFeedService) {
+    public NoFanoutFeedController(NoFanoutFeedService noFanoutFeedService,
+            TimelineVersionRegistry timelineVersionRegistry) {
         this.noFanoutFeedService = noFanoutFeedService;
+        this.timelineVersionRegistry = timelineVersionRegistry;
     }
 
     @GetMapping("/timeline/{userId}")
-    public ResponseEntity<Page<FeedItemDTO>> getUserFeedPullModel(
+    public ResponseEntity<TimelinePageDTO> getUserFeedPullModel(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+
+        if (NegotiatedEtags.checkNotModified(webRequest, timelineVersionRegistry.pullFeedEtag(userId))) {
+            return null;
+        }
 
         long startTime = System.currentTimeMillis();
 
@@ -34,7 +45,7 @@ public class NoFanoutFeedController {
 
         long totalTime = System.currentTimeMillis() - startTime;
 
-        return ResponseEntity.ok().body(feed);
+        return ResponseEntity.ok().body(TimelinePageDTO.from(feed));
     }
 
     @GetMapping("/stats/{userId}")
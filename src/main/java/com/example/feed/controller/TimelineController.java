@@ -0,0 +1,43 @@
+package com.example.feed.controller;
+
+import com.example.feed.dto.TimelinePageDTO;
+import com.example.feed.service.TimelineRouterService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/timeline")
+@Validated
+public class TimelineController {
+
+    static final String TIMELINE_SOURCE_HEADER = "X-Timeline-Source";
+    static final String TIMELINE_REASON_HEADER = "X-Timeline-Route-Reason";
+
+    private final TimelineRouterService timelineRouterService;
+
+    public TimelineController(TimelineRouterService timelineRouterService) {
+        this.timelineRouterService = timelineRouterService;
+    }
+
+    @GetMapping
+    public ResponseEntity<TimelinePageDTO> getTimeline(
+            @RequestHeader("User-Id") Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        TimelineRouterService.RoutedTimeline timeline = timelineRouterService.getTimeline(userId, page, size);
+
+        return ResponseEntity.ok()
+                .header(TIMELINE_SOURCE_HEADER, timeline.decision().source().name())
+                .header(TIMELINE_REASON_HEADER, timeline.decision().reason())
+                .body(TimelinePageDTO.from(timeline.feed()));
+    }
+
+    @GetMapping("/route")
+    public ResponseEntity<TimelineRouterService.RoutingDecision> getRoutingDecision(
+            @RequestHeader("User-Id") Long userId) {
+
+        return ResponseEntity.ok(timelineRouterService.decide(userId));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.feed.controller;
+
+import com.example.feed.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Treats every request carrying {@code User-Id} as activity of that user, at most once per
+ * {@code feed.activity.touch-interval}. Touches are only buffered on the request thread and written
+ * through {@link UserService#updateLastLogin} every {@code feed.activity.flush-interval}, which is
+ * what triggers the rebuild of returning users' timelines.
+ */
+@Component
+public class UserActivityInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(UserActivityInterceptor.class);
+    private static final String USER_ID_HEADER = "User-Id";
+
+    private final UserService userService;
+    private final Map<Long, Long> lastTouched;
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    private final long touchIntervalMs;
+
+    public UserActivityInterceptor(UserService userService,
+            @Value("${feed.activity.touch-interval:PT5M}") Duration touchInterval,
+            @Value("${feed.activity.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.userService = userService;
+        this.touchIntervalMs = touchInterval.toMillis();
+        this.lastTouched = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        };
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = parseUserId(request.getHeader(USER_ID_HEADER));
+        if (userId != null && claimTouch(userId)) {
+            touched.add(userId);
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${feed.activity.flush-interval:PT1S}")
+    public void flush() {
+        for (Long userId : List.copyOf(touched)) {
+            touched.remove(userId);
+            try {
+                userService.updateLastLogin(userId);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo registrar la actividad del usuario {}", userId, e);
+            }
+        }
+    }
+
+    private boolean claimTouch(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (lastTouched) {
+            Long previous = lastTouched.get(userId);
+            if (previous != null && now - previous < touchIntervalMs) {
+                return false;
+            }
+            lastTouched.put(userId, now);
+            return true;
+        }
+    }
+
+    private static Long parseUserId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.feed.controller;
+
+import com.example.feed.dto.FollowPageDTO;
+import com.example.feed.dto.UserStatsDTO;
+import com.example.feed.service.UserService;
+import com.example.feed.service.UserStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    private final UserStatisticsService userStatisticsService;
+    private final UserService userService;
+
+    public UserController(UserStatisticsService userStatisticsService, UserService userService) {
+        this.userStatisticsService = userStatisticsService;
+        this.userService = userService;
+    }
+
+    @PostMapping("/session")
+    public ResponseEntity<Void> startSession(@RequestHeader("User-Id") Long userId) {
+        userService.startSession(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{userId}/stats")
+    public ResponseEntity<UserStatsDTO> getStats(@PathVariable Long userId) {
+        return ResponseEntity.ok(userStatisticsService.getStats(userId));
+    }
+
+    @GetMapping("/{userId}/followers")
+    public ResponseEntity<FollowPageDTO> getFollowers(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(userService.getFollowers(userId, before, limit));
+    }
+
+    @GetMapping("/{userId}/following")
+    public ResponseEntity<FollowPageDTO> getFollowing(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(userService.getFollowing(userId, before, limit));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.feed.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary for a configurable window.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowMs;
+
+    public ReadYourWritesTracker(@Value("${feed.datasource.routing.read-your-writes-window:PT5S}") Duration window) {
+        this.windowMs = window.toMillis();
+    }
+
+    public void markWrite(Long userId) {
+        if (windowMs <= 0 || userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        stickyUntil.put(userId, now + windowMs);
+        if (stickyUntil.size() > PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    public boolean requiresPrimary(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            stickyUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
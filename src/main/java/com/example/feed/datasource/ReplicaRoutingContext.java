@@ -0,0 +1,24 @@
+package com.example.feed.datasource;
+
+/**
+ * Holds the user on whose behalf the current thread is reading, so read-only transactions
+ * can be pinned to the primary while that user's own writes may not have replicated yet.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {}
+
+    public static void setCurrentUserId(Long userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static Long getCurrentUserId() {
+        return CURRENT_USER.get();
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.feed.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica (round robin) and everything
+ * else to the primary. Replicas that fail to hand out a connection or fall behind
+ * {@code feed.datasource.routing.max-replication-lag} are skipped until the next health check
+ * finds them usable again. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the read-only flag
+ * of the transaction is known when the physical connection is fetched.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String REPLICATION_LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxReplicationLagMs;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+            List<HikariDataSource> replicaPools,
+            ReadYourWritesTracker readYourWritesTracker,
+            ReplicaRoutingProperties properties,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(ReplicaTarget::new).toList();
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxReplicationLagMs = properties.maxReplicationLag().toMillis();
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, properties.healthCheckTimeout().toSeconds());
+
+        for (ReplicaTarget replica : replicas) {
+            Gauge.builder("feed.datasource.replica.lag", replica, target -> target.lagMs)
+                    .description("Retraso de replicación observado en la última verificación (ms)")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("feed.datasource.replica.healthy", replica, target -> target.healthy ? 1 : 0)
+                    .description("1 si la réplica recibe lecturas, 0 si está excluida")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaTarget replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.pool.getConnection();
+        } catch (SQLException e) {
+            replica.markUnhealthy(e.getMessage());
+            log.warn("Réplica {} no disponible, usando primaria: {}", replica.name(), e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${feed.datasource.routing.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        for (ReplicaTarget replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(healthCheckTimeoutSeconds);
+                try (ResultSet resultSet = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                    resultSet.next();
+                    long lagMs = (long) resultSet.getDouble(1);
+                    replica.lagMs = lagMs;
+                    if (lagMs > maxReplicationLagMs) {
+                        replica.markUnhealthy("retraso de " + lagMs + " ms");
+                    } else {
+                        replica.markHealthy();
+                    }
+                }
+            } catch (SQLException e) {
+                replica.markUnhealthy(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private ReplicaTarget selectReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        if (readYourWritesTracker.requiresPrimary(ReplicaRoutingContext.getCurrentUserId())) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static final class ReplicaTarget {
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+        private volatile long lagMs;
+
+        ReplicaTarget(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        void markHealthy() {
+            if (!healthy) {
+                log.info("Réplica {} vuelve a recibir lecturas (retraso {} ms)", name(), lagMs);
+            }
+            healthy = true;
+        }
+
+        void markUnhealthy(String reason) {
+            if (healthy) {
+                log.warn("Réplica {} excluida de las lecturas: {}", name(), reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.feed.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+public class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String USER_ID_HEADER = "User-Id";
+    private static final String USER_ID_PATH_VARIABLE = "userId";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingContext.setCurrentUserId(resolveUserId(request));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingContext.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long resolveUserId(HttpServletRequest request) {
+        String value = request.getHeader(USER_ID_HEADER);
+        if (value == null) {
+            Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            if (variables instanceof Map<?, ?> map) {
+                value = ((Map<String, String>) map).get(USER_ID_PATH_VARIABLE);
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
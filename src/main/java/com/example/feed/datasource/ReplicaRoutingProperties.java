@@ -0,0 +1,24 @@
+package com.example.feed.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "feed.datasource.routing")
+public record ReplicaRoutingProperties(
+        boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("PT5S") Duration maxReplicationLag,
+        @DefaultValue("PT2S") Duration healthCheckTimeout) {
+
+    public record Replica(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize,
+            @DefaultValue("2") int minimumIdle) {
+    }
+}
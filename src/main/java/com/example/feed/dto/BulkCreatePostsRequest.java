@@ -0,0 +1,51 @@
+package com.example.feed.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkCreatePostsRequest {
+    public static final int MAX_POSTS = 1000;
+
+    @NotEmpty(message = "La lista de posts no puede estar vacía")
+    @Size(max = MAX_POSTS, message = "No se pueden crear más de 1000 posts por petición")
+    private List<@Valid @NotNull BulkPost> posts;
+
+    public BulkCreatePostsRequest() {}
+
+    public BulkCreatePostsRequest(List<BulkPost> posts) {
+        this.posts = posts;
+    }
+
+    public List<BulkPost> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<BulkPost> posts) {
+        this.posts = posts;
+    }
+
+    public static class BulkPost {
+        @NotBlank(message = "El contenido no puede estar vacío")
+        @Size(max = 500, message = "El contenido no puede exceder 500 caracteres")
+        private String content;
+
+        public BulkPost() {}
+
+        public BulkPost(String content) {
+            this.content = content;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+    }
+}
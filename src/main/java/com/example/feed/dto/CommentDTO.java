@@ -0,0 +1,72 @@
+package com.example.feed.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommentDTO {
+    private Long id;
+    private Long authorId;
+    private Long parentCommentId;
+    private String content;
+    private LocalDateTime createdAt;
+    private List<CommentDTO> replies = new ArrayList<>();
+
+    public CommentDTO() {}
+
+    public CommentDTO(Long id, Long authorId, Long parentCommentId, String content, LocalDateTime createdAt) {
+        this.id = id;
+        this.authorId = authorId;
+        this.parentCommentId = parentCommentId;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public Long getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(Long parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<CommentDTO> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentDTO> replies) {
+        this.replies = replies;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.feed.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommentThreadDTO {
+    private Long postId;
+    private int totalComments;
+    private long totalThreads;
+    private List<CommentDTO> threads = new ArrayList<>();
+
+    public CommentThreadDTO() {}
+
+    public CommentThreadDTO(Long postId, int totalComments, long totalThreads, List<CommentDTO> threads) {
+        this.postId = postId;
+        this.totalComments = totalComments;
+        this.totalThreads = totalThreads;
+        this.threads = threads;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public int getTotalComments() {
+        return totalComments;
+    }
+
+    public void setTotalComments(int totalComments) {
+        this.totalComments = totalComments;
+    }
+
+    public long getTotalThreads() {
+        return totalThreads;
+    }
+
+    public void setTotalThreads(long totalThreads) {
+        this.totalThreads = totalThreads;
+    }
+
+    public List<CommentDTO> getThreads() {
+        return threads;
+    }
+
+    public void setThreads(List<CommentDTO> threads) {
+        this.threads = threads;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.feed.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class CreateCommentRequest {
+    @NotBlank(message = "El comentario no puede estar vacío")
+    @Size(max = 300, message = "El comentario no puede exceder 300 caracteres")
+    private String content;
+
+    private Long parentCommentId;
+
+    public CreateCommentRequest() {}
+
+    public CreateCommentRequest(String content, Long parentCommentId) {
+        this.content = content;
+        this.parentCommentId = parentCommentId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Long getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(Long parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.feed.dto;
+
+import java.util.List;
+
+public record FollowPageDTO(Long userId, List<Long> userIds, String nextCursor) {
+}
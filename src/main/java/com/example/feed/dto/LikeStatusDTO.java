@@ -0,0 +1,4 @@
+package com.example.feed.dto;
+
+public record LikeStatusDTO(Long postId, boolean liked, long likesCount) {
+}
@@ -0,0 +1,14 @@
+package com.example.feed.dto;
+
+import java.time.LocalDateTime;
+
+public record NotificationDTO(
+        Long id,
+        String type,
+        Long actorId,
+        String entityType,
+        Long entityId,
+        String message,
+        boolean isRead,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,6 @@
+package com.example.feed.dto;
+
+import java.util.List;
+
+public record NotificationPageDTO(List<NotificationDTO> items, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.example.feed.dto;
+
+import java.util.List;
+
+public record TimelineDeltaDTO(boolean hasNew, List<FeedItemDTO> items, String cursor) {
+
+    public static TimelineDeltaDTO nothingNew(String cursor) {
+        return new TimelineDeltaDTO(false, List.of(), cursor);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.feed.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record TimelinePageDTO(List<FeedItemDTO> items, int page, int size, boolean hasNext) {
+
+    public static TimelinePageDTO from(Page<FeedItemDTO> page) {
+        return new TimelinePageDTO(page.getContent(), page.getNumber(), page.getSize(), page.hasNext());
+    }
+}
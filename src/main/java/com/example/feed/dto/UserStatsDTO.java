@@ -0,0 +1,7 @@
+package com.example.feed.dto;
+
+import java.time.LocalDateTime;
+
+public record UserStatsDTO(Long userId, long postsCount, long followersCount, long followingCount,
+                           LocalDateTime updatedAt) {
+}
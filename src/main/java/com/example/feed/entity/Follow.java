@@ -6,7 +6,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "follows")
+// The keyset indexes also INCLUDE the other user id in schema.sql, which @Index cannot express.
+@Table(name = "follows", indexes = {
+        @Index(name = "idx_follows_followee_keyset", columnList = "followee_id, created_at DESC, id DESC"),
+        @Index(name = "idx_follows_follower_keyset", columnList = "follower_id, created_at DESC, id DESC"),
+        @Index(name = "idx_follows_created_at", columnList = "created_at")
+})
 public class Follow {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
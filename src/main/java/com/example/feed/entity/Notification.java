@@ -0,0 +1,123 @@
+package com.example.feed.entity;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_id", columnList = "user_id, created_at DESC"))
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    private Long actorId;
+    
+    @Column(nullable = false, length = 50)
+    private String type;
+    
+    @Column(length = 50)
+    private String entityType;
+    
+    private Long entityId;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+    
+    @Column(columnDefinition = "boolean default false")
+    private Boolean isRead = false;
+    
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public Notification() {}
+
+    public Notification(Long id, Long userId, Long actorId, String type, String entityType, Long entityId,
+                        String message, Boolean isRead, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.actorId = actorId;
+        this.type = type;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.message = message;
+        this.isRead = isRead;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(Long actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public void setIsRead(Boolean isRead) {
+        this.isRead = isRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
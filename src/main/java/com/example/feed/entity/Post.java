@@ -23,6 +23,9 @@ public class Post {
     
     @Column(nullable = false)
     private Boolean isActive = true;
+    
+    @Column(columnDefinition = "integer default 0")
+    private Integer likesCount = 0;
 
     public Post() {}
 
@@ -73,4 +76,12 @@ public class Post {
     public void setIsActive(Boolean isActive) {
         this.isActive = isActive;
     }
+
+    public Integer getLikesCount() {
+        return likesCount;
+    }
+
+    public void setLikesCount(Integer likesCount) {
+        this.likesCount = likesCount;
+    }
 }
\ No newline at end of file
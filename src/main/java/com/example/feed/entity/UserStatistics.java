@@ -0,0 +1,73 @@
+package com.example.feed.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_statistics")
+public class UserStatistics {
+    @Id
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long postsCount = 0L;
+    
+    @Column(nullable = false)
+    private Long followersCount = 0L;
+    
+    @Column(nullable = false)
+    private Long followingCount = 0L;
+    
+    private LocalDateTime updatedAt;
+
+    public UserStatistics() {}
+
+    public UserStatistics(Long userId, Long postsCount, Long followersCount, Long followingCount,
+                          LocalDateTime updatedAt) {
+        this.userId = userId;
+        this.postsCount = postsCount;
+        this.followersCount = followersCount;
+        this.followingCount = followingCount;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getPostsCount() {
+        return postsCount;
+    }
+
+    public void setPostsCount(Long postsCount) {
+        this.postsCount = postsCount;
+    }
+
+    public Long getFollowersCount() {
+        return followersCount;
+    }
+
+    public void setFollowersCount(Long followersCount) {
+        this.followersCount = followersCount;
+    }
+
+    public Long getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Long followingCount) {
+        this.followingCount = followingCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.feed.event;
+
+import com.example.feed.dto.FeedItemDTO;
+
+import java.util.List;
+
+public class FeedItemsDeliveredEvent {
+
+    private final Long authorId;
+    private final List<Long> recipientIds;
+    private final List<FeedItemDTO> items;
+    private final boolean backfill;
+    private final boolean remote;
+
+    public FeedItemsDeliveredEvent(Long authorId, List<Long> recipientIds, List<FeedItemDTO> items) {
+        this(authorId, recipientIds, items, false);
+    }
+
+    public FeedItemsDeliveredEvent(Long authorId, List<Long> recipientIds, List<FeedItemDTO> items, boolean backfill) {
+        this(authorId, recipientIds, items, backfill, false);
+    }
+
+    public FeedItemsDeliveredEvent(Long authorId, List<Long> recipientIds, List<FeedItemDTO> items, boolean backfill,
+            boolean remote) {
+        this.authorId = authorId;
+        this.recipientIds = recipientIds;
+        this.items = items;
+        this.backfill = backfill;
+        this.remote = remote;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public List<Long> getRecipientIds() {
+        return recipientIds;
+    }
+
+    public List<FeedItemDTO> getItems() {
+        return items;
+    }
+
+    public boolean isBackfill() {
+        return backfill;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedItemsDeliveredEvent{" +
+                "authorId=" + authorId +
+                ", recipients=" + recipientIds.size() +
+                ", items=" + items.size() +
+                ", backfill=" + backfill +
+                ", remote=" + remote +
+                '}';
+    }
+}
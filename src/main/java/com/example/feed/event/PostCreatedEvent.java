@@ -1,5 +1,6 @@
 package com.example.feed.event;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 public class PostCreatedEvent {
@@ -7,14 +8,20 @@ public class PostCreatedEvent {
     private Long authorId;
     private String content;
     private LocalDateTime createdAt;
+    private Instant publishedAt;
 
     public PostCreatedEvent() {}
 
     public PostCreatedEvent(Long postId, Long authorId, String content, LocalDateTime createdAt) {
+        this(postId, authorId, content, createdAt, Instant.now());
+    }
+
+    public PostCreatedEvent(Long postId, Long authorId, String content, LocalDateTime createdAt, Instant publishedAt) {
         this.postId = postId;
         this.authorId = authorId;
         this.content = content;
         this.createdAt = createdAt;
+        this.publishedAt = publishedAt;
     }
 
     public Long getPostId() {
@@ -48,4 +55,12 @@ public class PostCreatedEvent {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.feed.event;
+
+import java.time.LocalDateTime;
+
+public class PostDeactivatedEvent {
+
+    private final Long postId;
+    private final Long authorId;
+    private final LocalDateTime deactivatedAt;
+
+    public PostDeactivatedEvent(Long postId, Long authorId, LocalDateTime deactivatedAt) {
+        this.postId = postId;
+        this.authorId = authorId;
+        this.deactivatedAt = deactivatedAt;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public LocalDateTime getDeactivatedAt() {
+        return deactivatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PostDeactivatedEvent{" +
+                "postId=" + postId +
+                ", authorId=" + authorId +
+                ", deactivatedAt=" + deactivatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.feed.event;
+
+import java.time.LocalDateTime;
+
+public class PostLikedEvent {
+
+    private final Long postId;
+    private final Long authorId;
+    private final Long likerId;
+    private final LocalDateTime likedAt;
+
+    public PostLikedEvent(Long postId, Long authorId, Long likerId, LocalDateTime likedAt) {
+        this.postId = postId;
+        this.authorId = authorId;
+        this.likerId = likerId;
+        this.likedAt = likedAt;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public Long getLikerId() {
+        return likerId;
+    }
+
+    public LocalDateTime getLikedAt() {
+        return likedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PostLikedEvent{" +
+                "postId=" + postId +
+                ", authorId=" + authorId +
+                ", likerId=" + likerId +
+                ", likedAt=" + likedAt +
+                '}';
+    }
+}
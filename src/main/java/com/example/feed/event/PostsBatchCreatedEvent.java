@@ -0,0 +1,30 @@
+package com.example.feed.event;
+
+import java.util.List;
+
+public class PostsBatchCreatedEvent {
+
+    private final Long authorId;
+    private final List<PostCreatedEvent> posts;
+
+    public PostsBatchCreatedEvent(Long authorId, List<PostCreatedEvent> posts) {
+        this.authorId = authorId;
+        this.posts = posts;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public List<PostCreatedEvent> getPosts() {
+        return posts;
+    }
+
+    @Override
+    public String toString() {
+        return "PostsBatchCreatedEvent{" +
+                "authorId=" + authorId +
+                ", posts=" + posts.size() +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.feed.event;
+
+import java.time.LocalDateTime;
+
+public class UserReturnedEvent {
+
+    private final Long userId;
+    private final LocalDateTime previousLoginAt;
+    private final LocalDateTime returnedAt;
+
+    public UserReturnedEvent(Long userId, LocalDateTime previousLoginAt, LocalDateTime returnedAt) {
+        this.userId = userId;
+        this.previousLoginAt = previousLoginAt;
+        this.returnedAt = returnedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getPreviousLoginAt() {
+        return previousLoginAt;
+    }
+
+    public LocalDateTime getReturnedAt() {
+        return returnedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserReturnedEvent{" +
+                "userId=" + userId +
+                ", previousLoginAt=" + previousLoginAt +
+                ", returnedAt=" + returnedAt +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.feed.event;
+
+import java.time.LocalDateTime;
+
+public class UserUnfollowedEvent {
+
+    private final Long followerId;
+    private final Long followeeId;
+    private final LocalDateTime unfollowedAt;
+
+    public UserUnfollowedEvent(Long followerId, Long followeeId, LocalDateTime unfollowedAt) {
+        this.followerId = followerId;
+        this.followeeId = followeeId;
+        this.unfollowedAt = unfollowedAt;
+    }
+
+    public Long getFollowerId() {
+        return followerId;
+    }
+
+    public Long getFolloweeId() {
+        return followeeId;
+    }
+
+    public LocalDateTime getUnfollowedAt() {
+        return unfollowedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserUnfollowedEvent{" +
+                "followerId=" + followerId +
+                ", followeeId=" + followeeId +
+                ", unfollowedAt=" + unfollowedAt +
+                '}';
+    }
+}
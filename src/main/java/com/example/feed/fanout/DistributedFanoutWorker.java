@@ -0,0 +1,166 @@
+package com.example.feed.fanout;
+
+import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.listener.PostFanoutEventListener;
+import com.example.feed.service.FanoutVisibilityTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes fan-out work units on every instance when {@code feed.fanout.mode=distributed}. Each of
+ * the {@code feed.fanout.distributed.consumers} threads reads units from the shared queue, delivers
+ * them and acknowledges them. Failed units are left pending and are reclaimed by any consumer once
+ * idle for {@code reclaim-idle}, which also recovers the work of instances that died mid-unit;
+ * after {@code max-deliveries} attempts a unit is dead-lettered. Acknowledged units are trimmed from
+ * the queue on the same {@code reclaim-interval}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "feed.fanout", name = "mode", havingValue = "distributed")
+public class DistributedFanoutWorker implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedFanoutWorker.class);
+
+    private final FanoutWorkQueue fanoutWorkQueue;
+    private final PostFanoutEventListener postFanoutEventListener;
+    private final FanoutVisibilityTracker fanoutVisibilityTracker;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter reclaimed;
+    private final Counter deadLettered;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final String consumerName;
+    private final int consumers;
+    private final int batchSize;
+    private final Duration block;
+    private final Duration reclaimIdle;
+    private final Duration reclaimInterval;
+    private final int maxDeliveries;
+
+    public DistributedFanoutWorker(FanoutWorkQueue fanoutWorkQueue,
+            PostFanoutEventListener postFanoutEventListener,
+            FanoutVisibilityTracker fanoutVisibilityTracker,
+            MeterRegistry meterRegistry,
+            @Value("${feed.fanout.distributed.consumer-name:}") String consumerName,
+            @Value("${feed.fanout.distributed.consumers:2}") int consumers,
+            @Value("${feed.fanout.distributed.batch-size:10}") int batchSize,
+            @Value("${feed.fanout.distributed.block:PT1S}") Duration block,
+            @Value("${feed.fanout.distributed.reclaim-idle:PT1M}") Duration reclaimIdle,
+            @Value("${feed.fanout.distributed.reclaim-interval:PT15S}") Duration reclaimInterval,
+            @Value("${feed.fanout.distributed.max-deliveries:5}") int maxDeliveries) {
+        this.fanoutWorkQueue = fanoutWorkQueue;
+        this.postFanoutEventListener = postFanoutEventListener;
+        this.fanoutVisibilityTracker = fanoutVisibilityTracker;
+        this.consumerName = consumerName.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : consumerName;
+        this.consumers = consumers;
+        this.batchSize = batchSize;
+        this.block = block;
+        this.reclaimIdle = reclaimIdle;
+        this.reclaimInterval = reclaimInterval;
+        this.maxDeliveries = maxDeliveries;
+        this.delivered = unitCounter(meterRegistry, "delivered");
+        this.retried = unitCounter(meterRegistry, "retried");
+        this.reclaimed = unitCounter(meterRegistry, "reclaimed");
+        this.deadLettered = unitCounter(meterRegistry, "dead-lettered");
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        for (int i = 0; i < consumers; i++) {
+            String consumer = consumerName + "-" + i;
+            threads.add(Thread.ofPlatform().name("FanoutWorker-" + i).daemon(true).start(() -> consume(consumer)));
+        }
+        log.info("Fanout distribuido iniciado con {} consumidores como {}", consumers, consumerName);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(block.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume(String consumer) {
+        long nextReclaimAt = 0;
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextReclaimAt) {
+                    List<FanoutDelivery> stale = fanoutWorkQueue.reclaim(consumer, reclaimIdle, batchSize);
+                    reclaimed.increment(stale.size());
+                    stale.forEach(this::process);
+                    fanoutWorkQueue.trimAcknowledged();
+                    nextReclaimAt = System.currentTimeMillis() + reclaimInterval.toMillis();
+                }
+                fanoutWorkQueue.poll(consumer, batchSize, block).forEach(this::process);
+            } catch (RuntimeException e) {
+                log.error("Error leyendo la cola de fanout distribuido como {}", consumer, e);
+                pause();
+            }
+        }
+    }
+
+    private void process(FanoutDelivery delivery) {
+        FanoutWorkUnit unit = delivery.unit();
+        List<PostCreatedEvent> posts = unit.toEvents();
+        if (delivery.deliveries() > maxDeliveries) {
+            log.error("Unidad de fanout {} del usuario {} descartada tras {} intentos",
+                    delivery.id(), unit.authorId(), delivery.deliveries() - 1);
+            fanoutWorkQueue.deadLetter(delivery);
+            posts.forEach(fanoutVisibilityTracker::fanoutFailed);
+            deadLettered.increment();
+            return;
+        }
+
+        try {
+            int recipients = postFanoutEventListener.deliverToRange(unit, posts);
+            fanoutWorkQueue.ack(delivery.id());
+            posts.forEach(post -> fanoutVisibilityTracker.fanoutCompleted(post, recipients));
+            delivered.increment();
+        } catch (RuntimeException e) {
+            log.warn("Error en la unidad de fanout {} del usuario {} (intento {}), se reintentará",
+                    delivery.id(), unit.authorId(), delivery.deliveries(), e);
+            retried.increment();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(block.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Counter unitCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("feed.fanout.distributed.units")
+                .description("Unidades de fanout distribuido procesadas por este nodo")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
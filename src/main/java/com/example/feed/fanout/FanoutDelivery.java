@@ -0,0 +1,8 @@
+package com.example.feed.fanout;
+
+/**
+ * A work unit handed to a consumer, with the queue's id for acknowledging it and how many times it
+ * has been delivered so far (1 on first delivery).
+ */
+public record FanoutDelivery(String id, FanoutWorkUnit unit, long deliveries) {
+}
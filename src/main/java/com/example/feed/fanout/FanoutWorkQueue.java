@@ -0,0 +1,33 @@
+package com.example.feed.fanout;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Work queue shared by every instance in distributed fan-out mode. Consumers acknowledge units once
+ * delivered; units that are never acknowledged stay pending and are handed to another consumer by
+ * {@link #reclaim} once they have been idle for long enough.
+ */
+public interface FanoutWorkQueue {
+
+    void publish(List<FanoutWorkUnit> units);
+
+    List<FanoutDelivery> poll(String consumer, int count, Duration block);
+
+    List<FanoutDelivery> reclaim(String consumer, Duration minIdle, int count);
+
+    void ack(String deliveryId);
+
+    void deadLetter(FanoutDelivery delivery);
+
+    /**
+     * Units published but not yet acknowledged, whether never read or pending on a consumer.
+     */
+    long backlog();
+
+    /**
+     * Releases storage held by units that were already acknowledged; unread and pending units are
+     * always kept. Called periodically by the consumers.
+     */
+    void trimAcknowledged();
+}
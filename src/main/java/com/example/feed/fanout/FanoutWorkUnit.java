@@ -0,0 +1,29 @@
+package com.example.feed.fanout;
+
+import com.example.feed.event.PostCreatedEvent;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One slice of a distributed fan-out: the posts of an author to be delivered to the followers
+ * whose id falls in {@code (afterFollowerId, lastFollowerId]}. Only the bounds travel through the
+ * queue; the worker reads the follower ids of its range itself.
+ */
+public record FanoutWorkUnit(Long authorId, Long afterFollowerId, Long lastFollowerId, List<PostRef> posts) {
+
+    public List<PostCreatedEvent> toEvents() {
+        return posts.stream()
+                .map(post -> new PostCreatedEvent(post.postId(), authorId, post.content(), post.createdAt(),
+                        post.publishedAt()))
+                .toList();
+    }
+
+    public record PostRef(Long postId, String content, LocalDateTime createdAt, Instant publishedAt) {
+
+        public static PostRef from(PostCreatedEvent event) {
+            return new PostRef(event.getPostId(), event.getContent(), event.getCreatedAt(), event.getPublishedAt());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.feed.fanout;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-JVM {@link FanoutWorkQueue} with the same pending, ack and reclaim semantics as the Redis
+ * Stream queue, for tests and local runs without Redis.
+ */
+public class InMemoryFanoutWorkQueue implements FanoutWorkQueue {
+
+    private final Deque<FanoutDelivery> ready = new ArrayDeque<>();
+    private final Map<String, PendingEntry> pending = new LinkedHashMap<>();
+    private final List<FanoutDelivery> deadLetters = new ArrayList<>();
+    private long sequence;
+
+    @Override
+    public synchronized void publish(List<FanoutWorkUnit> units) {
+        for (FanoutWorkUnit unit : units) {
+            ready.addLast(new FanoutDelivery(++sequence + "-0", unit, 0));
+        }
+        notifyAll();
+    }
+
+    @Override
+    public synchronized List<FanoutDelivery> poll(String consumer, int count, Duration block) {
+        long deadline = System.currentTimeMillis() + block.toMillis();
+        while (ready.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return List.of();
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+        }
+
+        List<FanoutDelivery> deliveries = new ArrayList<>();
+        while (!ready.isEmpty() && deliveries.size() < count) {
+            FanoutDelivery queued = ready.pollFirst();
+            FanoutDelivery delivery = new FanoutDelivery(queued.id(), queued.unit(), 1);
+            pending.put(delivery.id(), new PendingEntry(delivery, System.currentTimeMillis()));
+            deliveries.add(delivery);
+        }
+        return deliveries;
+    }
+
+    @Override
+    public synchronized List<FanoutDelivery> reclaim(String consumer, Duration minIdle, int count) {
+        long now = System.currentTimeMillis();
+        List<FanoutDelivery> deliveries = new ArrayList<>();
+        for (Map.Entry<String, PendingEntry> entry : pending.entrySet()) {
+            if (deliveries.size() >= count) {
+                break;
+            }
+            PendingEntry current = entry.getValue();
+            if (now - current.deliveredAt() < minIdle.toMillis()) {
+                continue;
+            }
+            FanoutDelivery delivery = new FanoutDelivery(current.delivery().id(), current.delivery().unit(),
+                    current.delivery().deliveries() + 1);
+            entry.setValue(new PendingEntry(delivery, now));
+            deliveries.add(delivery);
+        }
+        return deliveries;
+    }
+
+    @Override
+    public synchronized void ack(String deliveryId) {
+        pending.remove(deliveryId);
+    }
+
+    @Override
+    public synchronized void deadLetter(FanoutDelivery delivery) {
+        pending.remove(delivery.id());
+        deadLetters.add(delivery);
+    }
+
+    @Override
+    public synchronized long backlog() {
+        return ready.size() + pending.size();
+    }
+
+    @Override
+    public void trimAcknowledged() {
+        // acknowledged units are removed from the pending map on ack
+    }
+
+    public synchronized int readyCount() {
+        return ready.size();
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized List<FanoutDelivery> deadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    private record PendingEntry(FanoutDelivery delivery, long deliveredAt) {
+    }
+}
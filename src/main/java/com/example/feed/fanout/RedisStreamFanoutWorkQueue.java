@@ -0,0 +1,236 @@
+package com.example.feed.fanout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo.XInfoGroup;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.connection.stream.StringRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link FanoutWorkQueue} on a Redis Stream read through one consumer group shared by all
+ * instances. Units are added with XADD (pipelined), read with XREADGROUP, acknowledged with XACK
+ * and reclaimed from the pending entries list with XPENDING + XCLAIM. The stream is never capped
+ * by length, which could drop unread or pending units; instead {@link #trimAcknowledged()} trims
+ * with XTRIM MINID below the oldest entry the group still needs. Dead letters go to a second
+ * stream for inspection.
+ */
+public class RedisStreamFanoutWorkQueue implements FanoutWorkQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStreamFanoutWorkQueue.class);
+    private static final String FIELD_UNIT = "unit";
+    private static final String FIELD_DELIVERIES = "deliveries";
+    private static final Comparator<RecordId> RECORD_ID_ORDER = Comparator
+            .comparingLong(RecordId::getTimestamp)
+            .thenComparingLong(RecordId::getSequence);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String streamKey;
+    private final String deadLetterKey;
+    private final String group;
+    private volatile boolean groupReady;
+
+    public RedisStreamFanoutWorkQueue(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            String streamKey, String group) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.streamKey = streamKey;
+        this.deadLetterKey = streamKey + ":dead";
+        this.group = group;
+    }
+
+    @Override
+    public void publish(List<FanoutWorkUnit> units) {
+        byte[] rawKey = streamKey.getBytes(StandardCharsets.UTF_8);
+        byte[] rawField = FIELD_UNIT.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> payloads = units.stream().map(unit -> toJson(unit).getBytes(StandardCharsets.UTF_8)).toList();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] payload : payloads) {
+                connection.streamCommands().xAdd(StreamRecords.rawBytes(Map.of(rawField, payload)).withStreamKey(rawKey));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<FanoutDelivery> poll(String consumer, int count, Duration block) {
+        ensureGroup();
+        try {
+            List<StringRecord> records = redisTemplate.execute((RedisCallback<List<StringRecord>>) connection ->
+                    ((StringRedisConnection) connection).xReadGroupAsString(
+                            Consumer.from(group, consumer),
+                            StreamReadOptions.empty().count(count).block(block),
+                            StreamOffset.create(streamKey, ReadOffset.lastConsumed())));
+            if (records == null) {
+                return List.of();
+            }
+            return records.stream().map(record -> toDelivery(record, 1)).filter(Objects::nonNull).toList();
+        } catch (RuntimeException e) {
+            groupReady = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public List<FanoutDelivery> reclaim(String consumer, Duration minIdle, int count) {
+        ensureGroup();
+        PendingMessages pendingMessages = redisTemplate.opsForStream().pending(streamKey, group, Range.unbounded(), count);
+        Map<String, Long> deliveriesById = new LinkedHashMap<>();
+        for (PendingMessage message : pendingMessages) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                deliveriesById.put(message.getIdAsString(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveriesById.isEmpty()) {
+            return List.of();
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(streamKey, group,
+                consumer, minIdle, deliveriesById.keySet().stream().map(RecordId::of).toArray(RecordId[]::new));
+        return claimed.stream()
+                .map(record -> toDelivery(record, deliveriesById.getOrDefault(record.getId().getValue(), 0L) + 1))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void ack(String deliveryId) {
+        redisTemplate.opsForStream().acknowledge(streamKey, group, deliveryId);
+    }
+
+    @Override
+    public void deadLetter(FanoutDelivery delivery) {
+        redisTemplate.opsForStream().add(StreamRecords.string(Map.of(
+                        FIELD_UNIT, toJson(delivery.unit()),
+                        FIELD_DELIVERIES, String.valueOf(delivery.deliveries())))
+                .withStreamKey(deadLetterKey));
+        ack(delivery.id());
+    }
+
+    @Override
+    public void trimAcknowledged() {
+        ensureGroup();
+        RecordId floor = acknowledgedFloor();
+        if (floor == null) {
+            return;
+        }
+        byte[] rawKey = streamKey.getBytes(StandardCharsets.UTF_8);
+        byte[] rawFloor = floor.getValue().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XTRIM", rawKey,
+                "MINID".getBytes(StandardCharsets.UTF_8), "~".getBytes(StandardCharsets.UTF_8), rawFloor));
+    }
+
+    /**
+     * Units not yet acknowledged by the group: XINFO GROUPS {@code pending} plus {@code lag} (entries
+     * never read). Redis before 7.0 does not report the lag, nor does Redis when it cannot compute
+     * it; the stream length is used instead, which only over-counts acknowledged entries not yet
+     * trimmed.
+     */
+    @Override
+    public long backlog() {
+        ensureGroup();
+        XInfoGroup info = groupInfo();
+        if (info == null) {
+            return 0;
+        }
+        long pending = info.pendingCount() != null ? info.pendingCount() : 0;
+        if (info.getRaw().get("lag") instanceof Number lag) {
+            return pending + lag.longValue();
+        }
+        Long length = redisTemplate.opsForStream().size(streamKey);
+        return Math.max(pending, length != null ? length : 0);
+    }
+
+    /**
+     * Oldest id the group may still need: the oldest pending entry, or the last delivered id when
+     * nothing is pending. The last delivered id is read before the pending list so that entries
+     * delivered in between are still covered by the pending check.
+     */
+    private RecordId acknowledgedFloor() {
+        XInfoGroup info = groupInfo();
+        if (info == null || info.lastDeliveredId() == null || "0-0".equals(info.lastDeliveredId())) {
+            return null;
+        }
+        RecordId floor = RecordId.of(info.lastDeliveredId());
+        PendingMessagesSummary pending = redisTemplate.opsForStream().pending(streamKey, group);
+        if (pending != null && pending.getTotalPendingMessages() > 0
+                && RECORD_ID_ORDER.compare(pending.minRecordId(), floor) < 0) {
+            floor = pending.minRecordId();
+        }
+        return floor;
+    }
+
+    private XInfoGroup groupInfo() {
+        return redisTemplate.opsForStream().groups(streamKey).stream()
+                .filter(candidate -> group.equals(candidate.groupName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void ensureGroup() {
+        if (groupReady) {
+            return;
+        }
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> createGroup(connection));
+            log.info("Grupo de consumidores {} creado en el stream {}", group, streamKey);
+        } catch (RuntimeException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (cause == null || !cause.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+        groupReady = true;
+    }
+
+    private String createGroup(RedisConnection connection) {
+        return connection.streamCommands().xGroupCreate(streamKey.getBytes(StandardCharsets.UTF_8), group,
+                ReadOffset.from("0"), true);
+    }
+
+    private FanoutDelivery toDelivery(MapRecord<String, ?, ?> record, long deliveries) {
+        String id = record.getId().getValue();
+        try {
+            FanoutWorkUnit unit = objectMapper.readValue(String.valueOf(record.getValue().get(FIELD_UNIT)),
+                    FanoutWorkUnit.class);
+            return new FanoutDelivery(id, unit, deliveries);
+        } catch (JsonProcessingException e) {
+            log.error("Unidad de fanout {} ilegible en el stream {}, se descarta", id, streamKey, e);
+            ack(id);
+            return null;
+        }
+    }
+
+    private String toJson(FanoutWorkUnit unit) {
+        try {
+            return objectMapper.writeValueAsString(unit);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la unidad de fanout del usuario " + unit.authorId(), e);
+        }
+    }
+}
@@ -1,84 +1,261 @@
 package com.example.feed.listener;
 
+import com.example.feed.dto.FeedItemDTO;
 import com.example.feed.entity.FeedItem;
-import com.example.feed.entity.Follow;
 import com.example.feed.entity.Post;
+import com.example.feed.event.FeedItemsDeliveredEvent;
 import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
 import com.example.feed.event.UserFollowedEvent;
-import com.example.feed.repository.FeedItemRepository;
+import com.example.feed.fanout.FanoutWorkQueue;
+import com.example.feed.fanout.FanoutWorkUnit;
+import com.example.feed.model.TimelineEntry;
 import com.example.feed.repository.FollowRepository;
 import com.example.feed.repository.PostRepository;
 import com.example.feed.repository.UserRepository;
+import com.example.feed.service.FanoutVisibilityTracker;
+import com.example.feed.service.PostAdmissionService;
+import com.example.feed.service.RecentPostsBuffer;
+import com.example.feed.service.TimelineStore;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Component
 public class PostFanoutEventListener {
     
     private static final Logger log = LoggerFactory.getLogger(PostFanoutEventListener.class);
-    private static final int ACTIVE_USER_DAYS = 10;
+    public static final int ACTIVE_USER_DAYS = 10;
     
-    private final FeedItemRepository feedItemRepository;
+    private final TimelineStore timelineStore;
     private final FollowRepository followRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final FanoutVisibilityTracker fanoutVisibilityTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor fanoutTaskExecutor;
+    private final TaskScheduler taskScheduler;
+    private final PostAdmissionService postAdmissionService;
+    private final RecentPostsBuffer recentPostsBuffer;
+    private final FanoutWorkQueue fanoutWorkQueue;
+    private final Duration coalesceWindow;
+    private final int distributedRangeSize;
+    private final Map<Long, List<PostCreatedEvent>> pendingByAuthor = new ConcurrentHashMap<>();
     
-    public PostFanoutEventListener(FeedItemRepository feedItemRepository,
+    public PostFanoutEventListener(TimelineStore timelineStore,
                                   FollowRepository followRepository,
                                   PostRepository postRepository,
-                                  UserRepository userRepository) {
-        this.feedItemRepository = feedItemRepository;
+                                  UserRepository userRepository,
+                                  FanoutVisibilityTracker fanoutVisibilityTracker,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Qualifier("fanoutTaskExecutor") TaskExecutor fanoutTaskExecutor,
+                                  @Qualifier("fanoutTaskScheduler") TaskScheduler taskScheduler,
+                                  PostAdmissionService postAdmissionService,
+                                  RecentPostsBuffer recentPostsBuffer,
+                                  ObjectProvider<FanoutWorkQueue> fanoutWorkQueue,
+                                  @Value("${feed.fanout.coalesce-window:PT1S}") Duration coalesceWindow,
+                                  @Value("${feed.fanout.distributed.range-size:1000}") int distributedRangeSize) {
+        this.timelineStore = timelineStore;
         this.followRepository = followRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.fanoutVisibilityTracker = fanoutVisibilityTracker;
+        this.eventPublisher = eventPublisher;
+        this.fanoutTaskExecutor = fanoutTaskExecutor;
+        this.taskScheduler = taskScheduler;
+        this.postAdmissionService = postAdmissionService;
+        this.recentPostsBuffer = recentPostsBuffer;
+        this.fanoutWorkQueue = fanoutWorkQueue.getIfAvailable();
+        this.coalesceWindow = coalesceWindow;
+        this.distributedRangeSize = distributedRangeSize;
     }
     
     @EventListener
-    @Async("fanoutTaskExecutor")
     public void handlePostCreated(PostCreatedEvent event) {
-        log.info("Iniciando fanout para post ID: {}", event.getPostId());
-        
-        List<Follow> followers = followRepository.findByFolloweeId(event.getAuthorId());
+        enqueueFanout(event.getAuthorId(), List.of(event));
+    }
+    
+    @EventListener
+    public void handlePostsBatchCreated(PostsBatchCreatedEvent event) {
+        enqueueFanout(event.getAuthorId(), event.getPosts());
+    }
+    
+    private void enqueueFanout(Long authorId, List<PostCreatedEvent> posts) {
+        Duration window = coalesceWindow;
+        if (postAdmissionService.shouldDeferFanout()) {
+            log.info("Fanout saturado, aplazando fanout de {} posts del usuario: {}", posts.size(), authorId);
+            window = postAdmissionService.getDeferDelay();
+            posts.forEach(fanoutVisibilityTracker::fanoutDeferred);
+        }
         
-        if (followers.isEmpty()) {
-            log.info("No hay seguidores para fanout del post ID: {}", event.getPostId());
+        if (window.isZero() || window.isNegative()) {
+            submitFanout(authorId, posts);
             return;
         }
         
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(ACTIVE_USER_DAYS);
-        List<Long> followerIds = followers.stream()
-            .map(Follow::getFollowerId)
-            .collect(Collectors.toList());
+        boolean[] opened = {false};
+        pendingByAuthor.compute(authorId, (id, pending) -> {
+            List<PostCreatedEvent> updated = pending != null ? pending : new ArrayList<>();
+            opened[0] = pending == null;
+            updated.addAll(posts);
+            return updated;
+        });
+        
+        if (opened[0]) {
+            taskScheduler.schedule(() -> flushAuthor(authorId), Instant.now().plus(window));
+        }
+    }
+    
+    @PreDestroy
+    public void flushPending() {
+        for (Long authorId : List.copyOf(pendingByAuthor.keySet())) {
+            List<PostCreatedEvent> posts = pendingByAuthor.remove(authorId);
+            if (posts != null) {
+                fanoutTracked(authorId, posts);
+            }
+        }
+    }
+    
+    private void flushAuthor(Long authorId) {
+        List<PostCreatedEvent> posts = pendingByAuthor.remove(authorId);
+        if (posts != null) {
+            submitFanout(authorId, posts);
+        }
+    }
+    
+    private void submitFanout(Long authorId, List<PostCreatedEvent> posts) {
+        try {
+            fanoutTaskExecutor.execute(() -> fanoutTracked(authorId, posts));
+        } catch (TaskRejectedException e) {
+            log.error("Cola de fanout llena, descartando fanout de {} posts del usuario {}", posts.size(), authorId);
+            posts.forEach(fanoutVisibilityTracker::fanoutFailed);
+        }
+    }
+    
+    private void fanoutTracked(Long authorId, List<PostCreatedEvent> posts) {
+        posts.forEach(fanoutVisibilityTracker::fanoutStarted);
+        try {
+            log.info("Iniciando fanout para {} posts del usuario: {}", posts.size(), authorId);
+            if (fanoutWorkQueue != null && distribute(authorId, posts)) {
+                return;
+            }
+            int recipients = deliverToFollowers(authorId, followRepository.findFollowerIds(authorId), posts);
+            posts.forEach(post -> fanoutVisibilityTracker.fanoutCompleted(post, recipients));
+        } catch (RuntimeException e) {
+            posts.forEach(fanoutVisibilityTracker::fanoutFailed);
+            log.error("Error en fanout de {} posts del usuario {}", posts.size(), authorId, e);
+        }
+    }
+    
+    /**
+     * Publishes one unit per {@code range-size} followers, bounded by every range-size-th follower
+     * id, so follower ids are never loaded here. Authors with fewer followers than one range are
+     * delivered locally.
+     */
+    private boolean distribute(Long authorId, List<PostCreatedEvent> posts) {
+        List<Long> bounds = followRepository.findFollowerIdRangeBounds(authorId, distributedRangeSize);
+        if (bounds.isEmpty()) {
+            return false;
+        }
+        
+        List<FanoutWorkUnit.PostRef> postRefs = posts.stream().map(FanoutWorkUnit.PostRef::from).toList();
+        List<FanoutWorkUnit> units = new ArrayList<>(bounds.size() + 1);
+        long after = 0;
+        for (Long bound : bounds) {
+            units.add(new FanoutWorkUnit(authorId, after, bound, postRefs));
+            after = bound;
+        }
+        units.add(new FanoutWorkUnit(authorId, after, Long.MAX_VALUE, postRefs));
+        
+        try {
+            fanoutWorkQueue.publish(units);
+        } catch (RuntimeException e) {
+            log.error("Error publicando el fanout distribuido de {} posts del usuario {}, se ejecuta localmente", 
+                    posts.size(), authorId, e);
+            return false;
+        }
+        
+        posts.forEach(fanoutVisibilityTracker::fanoutHandedOff);
+        log.info("Fanout de {} posts del usuario {} repartido en {} rangos de {} seguidores", 
+                posts.size(), authorId, units.size(), distributedRangeSize);
+        return true;
+    }
+    
+    public int deliverToRange(FanoutWorkUnit unit, List<PostCreatedEvent> posts) {
+        List<Long> followerIds = followRepository.findFollowerIdsInRange(unit.authorId(), unit.afterFollowerId(),
+                unit.lastFollowerId());
+        return deliverToFollowers(unit.authorId(), followerIds, posts);
+    }
+    
+    public int deliverToFollowers(Long authorId, List<Long> followerIds, List<PostCreatedEvent> posts) {
+        if (followerIds.isEmpty()) {
+            log.info("No hay seguidores para fanout de {} posts del usuario: {}", posts.size(), authorId);
+            return 0;
+        }
         
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(ACTIVE_USER_DAYS);
         Set<Long> activeUserIds = userRepository.findActiveUsersInList(followerIds, cutoffDate)
             .stream()
             .map(user -> user.getId())
             .collect(Collectors.toSet());
         
-        List<FeedItem> feedItems = followers.stream()
-            .filter(follow -> activeUserIds.contains(follow.getFollowerId()))
-            .map(follow -> new FeedItem(
+        List<Long> recipientIds = followerIds.stream()
+            .filter(activeUserIds::contains)
+            .toList();
+        
+        List<FeedItem> feedItems = recipientIds.stream()
+            .flatMap(recipientId -> posts.stream().map(post -> new FeedItem(
                 null,
-                follow.getFollowerId(),
-                event.getPostId(),
-                event.getAuthorId(),
-                event.getCreatedAt(),
+                recipientId,
+                post.getPostId(),
+                authorId,
+                post.getCreatedAt(),
                 false
-            ))
+            )))
             .collect(Collectors.toList());
         
-        feedItemRepository.saveAll(feedItems);
+        timelineStore.append(feedItems);
+        
+        eventPublisher.publishEvent(new FeedItemsDeliveredEvent(
+            authorId,
+            recipientIds,
+            posts.stream()
+                .map(post -> new FeedItemDTO(
+                    post.getPostId(),
+                    authorId,
+                    post.getContent(),
+                    post.getCreatedAt(),
+                    false
+                ))
+                .toList()
+        ));
         
-        log.info("Fanout completado para post ID: {} - {} seguidores activos notificados de {} seguidores totales", 
-                event.getPostId(), feedItems.size(), followers.size());
+        log.info("Fanout completado para {} posts del usuario {} - {} seguidores activos notificados de {} seguidores totales", 
+                posts.size(), authorId, recipientIds.size(), followerIds.size());
+        return recipientIds.size();
     }
     
     @EventListener
@@ -97,7 +274,7 @@ public class PostFanoutEventListener {
             return;
         }
         
-        List<Post> existingPosts = postRepository.findByUserIdAndIsActiveTrue(event.getFolloweeId());
+        List<Post> existingPosts = findActivePosts(event.getFolloweeId());
         
         if (existingPosts.isEmpty()) {
             log.info("No hay posts existentes para fanout del usuario: {}", event.getFolloweeId());
@@ -115,9 +292,45 @@ public class PostFanoutEventListener {
             ))
             .collect(Collectors.toList());
         
-        feedItemRepository.saveAll(feedItems);
+        timelineStore.append(feedItems);
+        
+        eventPublisher.publishEvent(new FeedItemsDeliveredEvent(
+            event.getFolloweeId(),
+            List.of(event.getFollowerId()),
+            existingPosts.stream()
+                .map(post -> new FeedItemDTO(
+                    post.getId(),
+                    post.getUserId(),
+                    post.getContent(),
+                    post.getCreatedAt(),
+                    false
+                ))
+                .toList(),
+            true
+        ));
         
         log.info("Fanout de posts existentes completado para usuario activo {} - {} posts agregados al feed", 
                 event.getFollowerId(), feedItems.size());
     }
-}
\ No newline at end of file
+    
+    private List<Post> findActivePosts(Long authorId) {
+        RecentPostsBuffer.RecentPosts recent = recentPostsBuffer.snapshot(authorId);
+        Map<Long, Post> posts = new LinkedHashMap<>();
+        postRepository.findAllById(recent.entries().stream().map(TimelineEntry::postId).toList())
+            .forEach(post -> posts.put(post.getId(), post));
+        
+        if (!recent.complete()) {
+            LocalDateTime olderThan = recent.entries().isEmpty()
+                ? LocalDateTime.now()
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(
+                    recent.entries().get(recent.entries().size() - 1).epochMillis() + 1), ZoneId.systemDefault());
+            postRepository.findByUserIdAndIsActiveTrueAndCreatedAtLessThanEqual(authorId, olderThan)
+                .forEach(post -> posts.putIfAbsent(post.getId(), post));
+        }
+        
+        return posts.values().stream()
+            .filter(post -> Boolean.TRUE.equals(post.getIsActive()))
+            .sorted(Comparator.comparing(Post::getCreatedAt).reversed())
+            .toList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.feed.model;
+
+/**
+ * How many posts of an author a user has liked recently, used as a ranking signal.
+ */
+public record AuthorAffinity(Long authorId, Long likes) {
+}
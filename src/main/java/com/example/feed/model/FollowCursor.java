@@ -0,0 +1,43 @@
+package com.example.feed.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Keyset position in a follower or following list: creation time (epoch micros, the precision of
+ * {@code follows.created_at}) and id of the last relationship returned.
+ * Serialized as {@code <epochMicros>_<followId>}.
+ */
+public record FollowCursor(long epochMicros, long id) {
+
+    public static FollowCursor of(LocalDateTime createdAt, long id) {
+        Instant instant = createdAt.atZone(ZoneId.systemDefault()).toInstant();
+        return new FollowCursor(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000, id);
+    }
+
+    public static FollowCursor parse(String value) {
+        int separator = value.indexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            return new FollowCursor(
+                    Long.parseLong(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000),
+                Math.floorMod(epochMicros, 1_000_000) * 1_000);
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    @Override
+    public String toString() {
+        return epochMicros + "_" + id;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.feed.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id-only projection of a follow relationship: the user on the other side, plus the keyset columns.
+ */
+public record FollowEdge(Long userId, LocalDateTime createdAt, Long id) {
+}
@@ -0,0 +1,39 @@
+package com.example.feed.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Keyset position in a user's notifications: creation time (epoch millis) and id of the last item returned.
+ * Serialized as {@code <epochMillis>_<notificationId>}.
+ */
+public record NotificationCursor(long epochMillis, long id) {
+
+    public static NotificationCursor of(LocalDateTime createdAt, long id) {
+        return new NotificationCursor(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), id);
+    }
+
+    public static NotificationCursor parse(String value) {
+        int separator = value.indexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            return new NotificationCursor(
+                    Long.parseLong(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    @Override
+    public String toString() {
+        return epochMillis + "_" + id;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.feed.model;
+
+/**
+ * Engagement counters of a post used as a ranking signal.
+ */
+public record PostEngagement(Long postId, Integer likesCount) {
+}
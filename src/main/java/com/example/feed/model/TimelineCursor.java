@@ -0,0 +1,54 @@
+package com.example.feed.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Position in a timeline: the creation time (epoch millis) and post id of the newest item a client has seen.
+ * Serialized as {@code <epochMillis>_<postId>}.
+ */
+public record TimelineCursor(long epochMillis, long postId) implements Comparable<TimelineCursor> {
+
+    public static final TimelineCursor EMPTY = new TimelineCursor(0, 0);
+
+    public static TimelineCursor of(LocalDateTime createdAt, long postId) {
+        return new TimelineCursor(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), postId);
+    }
+
+    public static TimelineCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EMPTY;
+        }
+        int separator = value.indexOf('_');
+        try {
+            if (separator < 0) {
+                return new TimelineCursor(Long.parseLong(value.trim()), 0);
+            }
+            return new TimelineCursor(
+                    Long.parseLong(value.substring(0, separator).trim()),
+                    Long.parseLong(value.substring(separator + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    public boolean isNewerThan(TimelineCursor other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(TimelineCursor other) {
+        int byTime = Long.compare(epochMillis, other.epochMillis);
+        return byTime != 0 ? byTime : Long.compare(postId, other.postId);
+    }
+
+    @Override
+    public String toString() {
+        return epochMillis + "_" + postId;
+    }
+}
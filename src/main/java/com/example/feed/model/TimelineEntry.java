@@ -0,0 +1,8 @@
+package com.example.feed.model;
+
+/**
+ * One packed timeline entry as stored in a {@code timeline_segments} payload or in the
+ * per-author recent-posts buffer.
+ */
+public record TimelineEntry(long postId, long authorId, long epochMillis) {
+}
@@ -0,0 +1,42 @@
+package com.example.feed.model;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Encodes timeline entries as fixed-width big-endian {@code (postId, authorId, epochMillis)} triples.
+ * Each append is encoded oldest first, but a backfill can append entries older than the ones already
+ * in a segment, so callers that need time order sort the decoded entries.
+ */
+public final class TimelineSegmentCodec {
+
+    public static final int ENTRY_BYTES = 3 * Long.BYTES;
+
+    private TimelineSegmentCodec() {}
+
+    public static byte[] encode(List<TimelineEntry> entries) {
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * ENTRY_BYTES);
+        for (TimelineEntry entry : entries) {
+            buffer.putLong(entry.postId());
+            buffer.putLong(entry.authorId());
+            buffer.putLong(entry.epochMillis());
+        }
+        return buffer.array();
+    }
+
+    public static int entryCount(byte[] payload) {
+        return payload.length / ENTRY_BYTES;
+    }
+
+    public static TimelineEntry entryAt(byte[] payload, int index) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload, index * ENTRY_BYTES, ENTRY_BYTES);
+        return new TimelineEntry(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    public static void forEachNewestFirst(byte[] payload, Consumer<TimelineEntry> consumer) {
+        for (int index = entryCount(payload) - 1; index >= 0; index--) {
+            consumer.accept(entryAt(payload, index));
+        }
+    }
+}
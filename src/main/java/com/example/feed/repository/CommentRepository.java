@@ -0,0 +1,38 @@
+package com.example.feed.repository;
+
+import com.example.feed.entity.Comment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    List<Comment> findByPostIdAndIsActiveTrueOrderByCreatedAtAscIdAsc(Long postId);
+
+    long countByPostIdAndParentCommentIdIsNullAndIsActiveTrue(Long postId);
+
+    @Query(value = """
+        WITH RECURSIVE roots AS (
+            SELECT * FROM comments 
+            WHERE post_id = :postId 
+            AND parent_comment_id IS NULL 
+            AND is_active = TRUE 
+            ORDER BY created_at, id 
+            LIMIT :limit OFFSET :offset
+        ), thread AS (
+            SELECT * FROM roots 
+            UNION ALL 
+            SELECT c.* FROM comments c 
+            JOIN thread t ON c.parent_comment_id = t.id 
+            WHERE c.is_active = TRUE
+        )
+        SELECT * FROM thread ORDER BY created_at, id
+    """, nativeQuery = true)
+    List<Comment> findRootThreadsPage(@Param("postId") Long postId,
+                                      @Param("limit") int limit,
+                                      @Param("offset") long offset);
+}
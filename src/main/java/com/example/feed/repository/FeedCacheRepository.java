@@ -20,7 +20,7 @@ public class FeedCacheRepository {
         this.feedItemRepository = feedItemRepository;
     }
 
-    @Cacheable(value = "userFeeds", key = "#userId + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "userFeeds", key = "'rows_' + #userId + '_' + @timelineVersionRegistry.cacheVersion(#userId) + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<FeedItemWithPost> findFeedWithPostsByUserId(Long userId, Pageable pageable) {
         log.info("Recuperando feed para usuario: {} - página: {}, tamaño: {} - verificando caché primero", 
                 userId, pageable.getPageNumber(), pageable.getPageSize());
@@ -32,17 +32,12 @@ public class FeedCacheRepository {
         return result;
     }
 
-    @CacheEvict(value = "userFeeds", key = "#userId + '_*'")
-    public void evictUserFeedFromCache(Long userId) {
-        log.info("Evictando feed del usuario: {} del caché", userId);
-    }
-
     @CacheEvict(value = "userFeeds", allEntries = true)
     public void evictAllUserFeedsFromCache() {
         log.info("Evictando todos los feeds de usuarios del caché");
     }
 
-    @CacheEvict(value = "userFeeds", key = "#userId + '_' + #page + '_' + #size")
+    @CacheEvict(value = "userFeeds", key = "#userId + '_' + @timelineVersionRegistry.cacheVersion(#userId) + '_' + #page + '_' + #size")
     public void evictUserFeedPageFromCache(Long userId, int page, int size) {
         log.info("Evictando página específica del feed del usuario: {} (página: {}, tamaño: {}) del caché", 
                 userId, page, size);
@@ -9,13 +9,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface FeedItemRepository extends JpaRepository<FeedItem, Long> {
     @Query("SELECT f FROM FeedItem f WHERE f.userId = :userId ORDER BY f.createdAt DESC")
     Page<FeedItem> findFeedByUserId(@Param("userId") Long userId, Pageable pageable);
     
     @Query("""
-           SELECT new FeedItemWithPost(
+           SELECT new com.example.feed.model.FeedItemWithPost(
                f.id, f.userId, f.postId, f.authorId, f.createdAt, f.isRead, 
                p.content, p.createdAt
            ) 
@@ -26,6 +30,38 @@ public interface FeedItemRepository extends JpaRepository<FeedItem, Long> {
            """)
     Page<FeedItemWithPost> findFeedWithPostsByUserId(@Param("userId") Long userId, Pageable pageable);
     
+    @Query("""
+           SELECT new com.example.feed.model.FeedItemWithPost(
+               f.id, f.userId, f.postId, f.authorId, f.createdAt, f.isRead, 
+               p.content, p.createdAt
+           ) 
+           FROM FeedItem f 
+           JOIN Post p ON f.postId = p.id 
+           WHERE f.userId = :userId 
+           ORDER BY f.createdAt DESC
+           """)
+    List<FeedItemWithPost> findLatestFeedWithPostsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("""
+           SELECT new com.example.feed.model.FeedItemWithPost(
+               f.id, f.userId, f.postId, f.authorId, f.createdAt, f.isRead, 
+               p.content, p.createdAt
+           ) 
+           FROM FeedItem f 
+           JOIN Post p ON f.postId = p.id 
+           WHERE f.userId = :userId 
+           AND f.createdAt >= :since 
+           ORDER BY f.createdAt DESC
+           """)
+    List<FeedItemWithPost> findFeedWithPostsByUserIdSince(@Param("userId") Long userId, 
+                                                         @Param("since") LocalDateTime since, 
+                                                         Pageable pageable);
+    
+    Optional<FeedItem> findFirstByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    @Query("SELECT MAX(f.createdAt) FROM FeedItem f WHERE f.userId = :userId")
+    Optional<LocalDateTime> findLatestCreatedAtByUserId(@Param("userId") Long userId);
+    
     void deleteByPostId(Long postId);
     void deleteByUserIdAndAuthorId(Long userId, Long authorId);
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.example.feed.repository;
+
+import com.example.feed.entity.FeedItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partition-aware access to {@code feed_items}, which is hash-partitioned by {@code user_id} into
+ * {@code feed_items_p0 .. feed_items_pN}. Writes are grouped per partition and sent straight to the
+ * partition table; maintenance operations always target a single partition. If the table is not
+ * partitioned (older databases), everything falls back to {@code feed_items} as one partition.
+ */
+@Repository
+public class FeedPartitionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedPartitionRepository.class);
+    private static final String PARENT_TABLE = "feed_items";
+
+    private static final String PARTITION_COUNT_SQL = """
+            SELECT COUNT(*) FROM pg_inherits WHERE inhparent = to_regclass('feed_items')
+            """;
+
+    private static final String RESOLVE_PARTITIONS_SQL = """
+            SELECT u.user_id, r.remainder
+            FROM unnest(CAST(? AS bigint[])) AS u(user_id)
+            CROSS JOIN generate_series(0, ? - 1) AS r(remainder)
+            WHERE satisfies_hash_partition('feed_items'::regclass, ?, r.remainder, u.user_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Integer> partitionByUser = new ConcurrentHashMap<>();
+    private volatile Integer partitionCount;
+
+    public FeedPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int getPartitionCount() {
+        Integer count = partitionCount;
+        if (count == null) {
+            Integer detected = jdbcTemplate.queryForObject(PARTITION_COUNT_SQL, Integer.class);
+            count = detected != null && detected > 0 ? detected : 1;
+            partitionCount = count;
+            log.info("Tabla feed_items con {} particiones", count);
+        }
+        return count;
+    }
+
+    public boolean isPartitioned() {
+        return getPartitionCount() > 1;
+    }
+
+    public String tableFor(int partition) {
+        if (!isPartitioned()) {
+            return PARENT_TABLE;
+        }
+        if (partition < 0 || partition >= getPartitionCount()) {
+            throw new IllegalArgumentException("Partición inexistente: " + partition);
+        }
+        return PARENT_TABLE + "_p" + partition;
+    }
+
+    public Map<Long, Integer> partitionsOf(Collection<Long> userIds) {
+        Map<Long, Integer> result = new HashMap<>(userIds.size());
+        if (!isPartitioned()) {
+            userIds.forEach(userId -> result.put(userId, 0));
+            return result;
+        }
+
+        List<Long> unresolved = new ArrayList<>();
+        for (Long userId : userIds) {
+            Integer partition = partitionByUser.get(userId);
+            if (partition != null) {
+                result.put(userId, partition);
+            } else {
+                unresolved.add(userId);
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            int modulus = getPartitionCount();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(RESOLVE_PARTITIONS_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", unresolved.toArray()));
+                statement.setInt(2, modulus);
+                statement.setInt(3, modulus);
+                return statement;
+            }, resultSet -> {
+                long userId = resultSet.getLong(1);
+                int partition = resultSet.getInt(2);
+                partitionByUser.put(userId, partition);
+                result.put(userId, partition);
+            });
+        }
+        return result;
+    }
+
+    public int insertAll(List<FeedItem> feedItems) {
+        if (feedItems.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> partitions = partitionsOf(feedItems.stream().map(FeedItem::getUserId).distinct().toList());
+        Map<Integer, List<FeedItem>> byPartition = new LinkedHashMap<>();
+        for (FeedItem item : feedItems) {
+            byPartition.computeIfAbsent(partitions.getOrDefault(item.getUserId(), 0), p -> new ArrayList<>()).add(item);
+        }
+
+        int inserted = 0;
+        for (Map.Entry<Integer, List<FeedItem>> entry : byPartition.entrySet()) {
+            inserted += insertIntoPartition(entry.getKey(), entry.getValue());
+        }
+        log.debug("{} elementos de feed insertados en {} particiones", inserted, byPartition.size());
+        return inserted;
+    }
+
+    public int rebuildFromFollowees(Long userId, LocalDateTime since, LocalDateTime until, int limit) {
+        int partition = partitionsOf(List.of(userId)).getOrDefault(userId, 0);
+        String sql = "INSERT INTO " + tableFor(partition)
+                + " (user_id, post_id, author_id, is_read, created_at)"
+                + " SELECT f.follower_id, p.id, p.user_id, FALSE, p.created_at"
+                + " FROM follows f JOIN posts p ON p.user_id = f.followee_id"
+                + " WHERE f.follower_id = ? AND p.is_active = TRUE AND p.created_at > ? AND p.created_at <= ?"
+                + " ORDER BY p.created_at DESC LIMIT ?"
+                + " ON CONFLICT (user_id, post_id) DO NOTHING";
+        return jdbcTemplate.update(sql, userId, Timestamp.valueOf(since), Timestamp.valueOf(until), limit);
+    }
+
+    public int deleteOlderThan(int partition, LocalDateTime cutoff, int batchSize) {
+        String table = tableFor(partition);
+        String sql = "DELETE FROM " + table + " WHERE ctid IN ("
+                + "SELECT ctid FROM " + table + " WHERE created_at < ? LIMIT ?)";
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, Timestamp.valueOf(cutoff), batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    public List<Long> findUsersOverLimit(int partition, int maxItemsPerUser, int limit) {
+        String sql = "SELECT user_id FROM " + tableFor(partition)
+                + " GROUP BY user_id HAVING COUNT(*) > ? LIMIT ?";
+        return jdbcTemplate.queryForList(sql, Long.class, maxItemsPerUser, limit);
+    }
+
+    public int trimToLatest(int partition, List<Long> userIds, int maxItemsPerUser) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        String table = tableFor(partition);
+        String sql = "DELETE FROM " + table + " WHERE user_id = ? AND id IN ("
+                + "SELECT id FROM " + table + " WHERE user_id = ? ORDER BY created_at DESC, id DESC OFFSET ?)";
+        int[][] results = jdbcTemplate.batchUpdate(sql, userIds, userIds.size(), (statement, userId) -> {
+            statement.setLong(1, userId);
+            statement.setLong(2, userId);
+            statement.setInt(3, maxItemsPerUser);
+        });
+
+        int trimmed = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                trimmed += Math.max(count, 0);
+            }
+        }
+        return trimmed;
+    }
+
+    public void vacuumAnalyze(int partition) {
+        jdbcTemplate.execute("VACUUM (ANALYZE) " + tableFor(partition));
+    }
+
+    private int insertIntoPartition(int partition, List<FeedItem> items) {
+        String sql = "INSERT INTO " + tableFor(partition)
+                + " (user_id, post_id, author_id, is_read, created_at)"
+                + " VALUES (?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP))"
+                + " ON CONFLICT (user_id, post_id) DO NOTHING";
+
+        int[][] results = jdbcTemplate.batchUpdate(sql, items, items.size(), (statement, item) -> {
+            statement.setLong(1, item.getUserId());
+            statement.setLong(2, item.getPostId());
+            statement.setLong(3, item.getAuthorId());
+            statement.setBoolean(4, Boolean.TRUE.equals(item.getIsRead()));
+            statement.setTimestamp(5, item.getCreatedAt() != null ? Timestamp.valueOf(item.getCreatedAt()) : null);
+        });
+
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                inserted += Math.max(count, 0);
+            }
+        }
+        return inserted;
+    }
+}
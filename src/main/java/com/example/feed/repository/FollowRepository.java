@@ -1,9 +1,14 @@
 package com.example.feed.repository;
 
 import com.example.feed.entity.Follow;
+import com.example.feed.model.FollowEdge;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,4 +18,67 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     boolean existsByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
     void deleteByFollowerIdAndFolloweeId(Long followerId, Long followeeId);
     long countByFollowerId(Long followerId);
-}
\ No newline at end of file
+
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followeeId = :followeeId ORDER BY f.followerId")
+    List<Long> findFollowerIds(@Param("followeeId") Long followeeId);
+
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followeeId = :followeeId AND f.followerId > :afterId ORDER BY f.followerId")
+    List<Long> findFollowerIdsAfter(@Param("followeeId") Long followeeId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT f.followerId FROM Follow f WHERE f.followeeId = :followeeId AND f.followerId > :afterId AND f.followerId <= :lastId ORDER BY f.followerId")
+    List<Long> findFollowerIdsInRange(@Param("followeeId") Long followeeId, @Param("afterId") Long afterId, @Param("lastId") Long lastId);
+
+    @Query(value = """
+        SELECT follower_id FROM (
+            SELECT follower_id, ROW_NUMBER() OVER (ORDER BY follower_id) AS rn
+            FROM follows
+            WHERE followee_id = :followeeId
+        ) ranked
+        WHERE ranked.rn % :rangeSize = 0
+        ORDER BY follower_id
+    """, nativeQuery = true)
+    List<Long> findFollowerIdRangeBounds(@Param("followeeId") Long followeeId, @Param("rangeSize") int rangeSize);
+
+    @Query("SELECT f.followeeId FROM Follow f WHERE f.followerId = :followerId")
+    List<Long> findFolloweeIds(@Param("followerId") Long followerId);
+
+    @Query("""
+        SELECT new com.example.feed.model.FollowEdge(f.followerId, f.createdAt, f.id) 
+        FROM Follow f 
+        WHERE f.followeeId = :userId 
+        ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowEdge> findFollowers(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.feed.model.FollowEdge(f.followerId, f.createdAt, f.id) 
+        FROM Follow f 
+        WHERE f.followeeId = :userId 
+        AND (f.createdAt, f.id) < (:createdAt, :id) 
+        ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowEdge> findFollowersBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.feed.model.FollowEdge(f.followeeId, f.createdAt, f.id) 
+        FROM Follow f 
+        WHERE f.followerId = :userId 
+        ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowEdge> findFollowing(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.feed.model.FollowEdge(f.followeeId, f.createdAt, f.id) 
+        FROM Follow f 
+        WHERE f.followerId = :userId 
+        AND (f.createdAt, f.id) < (:createdAt, :id) 
+        ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<FollowEdge> findFollowingBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+}
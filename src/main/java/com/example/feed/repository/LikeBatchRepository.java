@@ -0,0 +1,100 @@
+package com.example.feed.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Applies a batch of buffered like and unlike operations in one transaction: likes are inserted
+ * and removed with one array-bound statement each, and the resulting per-post deltas are added to
+ * {@code posts.likes_count} in one update ordered by post id. Likes whose user or post no longer
+ * exists are skipped by the insert instead of failing the whole batch.
+ */
+@Repository
+public class LikeBatchRepository {
+
+    private static final String INSERT_LIKES_SQL = """
+            WITH inserted AS (
+                INSERT INTO likes (user_id, post_id, created_at)
+                SELECT b.user_id, b.post_id, CURRENT_TIMESTAMP
+                FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) AS b(user_id, post_id)
+                JOIN users u ON u.id = b.user_id
+                JOIN posts p ON p.id = b.post_id
+                ON CONFLICT (user_id, post_id) DO NOTHING
+                RETURNING user_id, post_id, created_at
+            )
+            SELECT i.user_id, i.post_id, i.created_at, p.user_id AS author_id
+            FROM inserted i
+            JOIN posts p ON p.id = i.post_id
+            """;
+
+    private static final String DELETE_LIKES_SQL = """
+            DELETE FROM likes l
+            USING unnest(CAST(? AS bigint[]), CAST(? AS bigint[])) AS b(user_id, post_id)
+            WHERE l.user_id = b.user_id AND l.post_id = b.post_id
+            RETURNING l.post_id
+            """;
+
+    private static final String ADD_LIKES_COUNT_SQL = """
+            UPDATE posts p
+            SET likes_count = GREATEST(0, COALESCE(p.likes_count, 0) + d.delta)
+            FROM unnest(CAST(? AS bigint[]), CAST(? AS integer[])) AS d(post_id, delta)
+            WHERE p.id = d.post_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LikeBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public AppliedLikes apply(List<Long> likeUserIds, List<Long> likePostIds,
+            List<Long> unlikeUserIds, List<Long> unlikePostIds) {
+        List<InsertedLike> inserted = likeUserIds.isEmpty() ? List.of() : jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_LIKES_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", likeUserIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", likePostIds.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> new InsertedLike(
+                resultSet.getLong("user_id"),
+                resultSet.getLong("post_id"),
+                resultSet.getLong("author_id"),
+                resultSet.getTimestamp("created_at").toLocalDateTime()));
+
+        List<Long> deletedPostIds = unlikeUserIds.isEmpty() ? List.of() : jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DELETE_LIKES_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", unlikeUserIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint", unlikePostIds.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong("post_id"));
+
+        SortedMap<Long, Integer> deltas = new TreeMap<>();
+        inserted.forEach(like -> deltas.merge(like.postId(), 1, Integer::sum));
+        deletedPostIds.forEach(postId -> deltas.merge(postId, -1, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+
+        if (!deltas.isEmpty()) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ADD_LIKES_COUNT_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", deltas.keySet().toArray()));
+                statement.setArray(2, connection.createArrayOf("integer", deltas.values().toArray()));
+                return statement;
+            });
+        }
+        return new AppliedLikes(inserted, deltas);
+    }
+
+    public record InsertedLike(Long userId, Long postId, Long authorId, LocalDateTime likedAt) {
+    }
+
+    public record AppliedLikes(List<InsertedLike> inserted, Map<Long, Integer> deltas) {
+    }
+}
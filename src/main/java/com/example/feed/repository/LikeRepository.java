@@ -0,0 +1,27 @@
+package com.example.feed.repository;
+
+import com.example.feed.entity.Like;
+import com.example.feed.model.AuthorAffinity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LikeRepository extends JpaRepository<Like, Long> {
+    boolean existsByUserIdAndPostId(Long userId, Long postId);
+    long countByPostId(Long postId);
+
+    @Query("""
+        SELECT new com.example.feed.model.AuthorAffinity(p.userId, COUNT(l)) 
+        FROM Like l 
+        JOIN Post p ON p.id = l.postId 
+        WHERE l.userId = :userId 
+        AND l.createdAt >= :since 
+        GROUP BY p.userId
+    """)
+    List<AuthorAffinity> findAuthorAffinity(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+}
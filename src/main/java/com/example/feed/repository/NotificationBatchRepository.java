@@ -0,0 +1,56 @@
+package com.example.feed.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Inserts aggregated notifications in one statement by unnesting column arrays server-side.
+ * Timestamps are truncated to milliseconds so they round-trip exactly through keyset cursors.
+ */
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT_NOTIFICATIONS_SQL = """
+            INSERT INTO notifications (user_id, actor_id, type, entity_type, entity_id, message, is_read, created_at)
+            SELECT n.user_id, n.actor_id, n.type, n.entity_type, n.entity_id, n.message, FALSE,
+                   date_trunc('milliseconds', LOCALTIMESTAMP)
+            FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS varchar[]), CAST(? AS varchar[]),
+                        CAST(? AS bigint[]), CAST(? AS text[])) AS n(user_id, actor_id, type, entity_type, entity_id, message)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int insertAll(List<PendingNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_NOTIFICATIONS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint",
+                    notifications.stream().map(PendingNotification::userId).toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint",
+                    notifications.stream().map(PendingNotification::actorId).toArray()));
+            statement.setArray(3, connection.createArrayOf("varchar",
+                    notifications.stream().map(PendingNotification::type).toArray()));
+            statement.setArray(4, connection.createArrayOf("varchar",
+                    notifications.stream().map(PendingNotification::entityType).toArray()));
+            statement.setArray(5, connection.createArrayOf("bigint",
+                    notifications.stream().map(PendingNotification::entityId).toArray()));
+            statement.setArray(6, connection.createArrayOf("text",
+                    notifications.stream().map(PendingNotification::message).toArray()));
+            return statement;
+        });
+    }
+
+    public record PendingNotification(Long userId, Long actorId, String type, String entityType, Long entityId,
+                                      String message) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.feed.repository;
+
+import com.example.feed.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    List<Notification> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT n FROM Notification n 
+        WHERE n.userId = :userId 
+        AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) 
+        ORDER BY n.createdAt DESC, n.id DESC
+    """)
+    List<Notification> findByUserIdBefore(@Param("userId") Long userId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+}
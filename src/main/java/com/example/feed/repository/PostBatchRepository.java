@@ -0,0 +1,78 @@
+package com.example.feed.repository;
+
+import com.example.feed.entity.Post;
+import com.example.feed.model.TimelineEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based access to {@code posts}: inserts many posts in a single statement by passing the
+ * columns as arrays and unnesting them server-side, and reads the latest posts of many authors
+ * in one query.
+ */
+@Repository
+public class PostBatchRepository {
+
+    private static final String INSERT_POSTS_SQL = """
+            INSERT INTO posts (user_id, content, is_active, created_at)
+            SELECT CAST(? AS bigint), u.content, TRUE, CURRENT_TIMESTAMP
+            FROM unnest(CAST(? AS text[])) WITH ORDINALITY AS u(content, ord)
+            ORDER BY u.ord
+            RETURNING id, user_id, content, created_at, is_active
+            """;
+
+    private static final String LATEST_BY_AUTHORS_SQL = """
+            SELECT id, user_id, created_at FROM (
+                SELECT id, user_id, created_at,
+                       ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY created_at DESC, id DESC) AS rn
+                FROM posts
+                WHERE user_id = ANY (CAST(? AS bigint[])) AND is_active = TRUE
+            ) ranked
+            WHERE ranked.rn <= ?
+            ORDER BY user_id, created_at DESC, id DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Post> insertAll(Long authorId, List<String> contents) {
+        if (contents.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_POSTS_SQL);
+            statement.setLong(1, authorId);
+            statement.setArray(2, connection.createArrayOf("text", contents.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> new Post(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                resultSet.getString("content"),
+                resultSet.getTimestamp("created_at").toLocalDateTime(),
+                resultSet.getBoolean("is_active")));
+    }
+
+    public List<TimelineEntry> findLatestByAuthors(Collection<Long> authorIds, int perAuthor) {
+        if (authorIds.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LATEST_BY_AUTHORS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", authorIds.toArray()));
+            statement.setInt(2, perAuthor);
+            return statement;
+        }, (resultSet, rowNum) -> new TimelineEntry(
+                resultSet.getLong("id"),
+                resultSet.getLong("user_id"),
+                resultSet.getTimestamp("created_at").getTime()));
+    }
+}
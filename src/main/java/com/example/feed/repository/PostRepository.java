@@ -1,18 +1,28 @@
 package com.example.feed.repository;
 
 import com.example.feed.entity.Post;
+import com.example.feed.model.PostEngagement;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     
     List<Post> findByUserIdAndIsActiveTrue(Long userId);
+
+    List<Post> findByUserIdAndIsActiveTrueAndCreatedAtLessThanEqual(Long userId, LocalDateTime createdAt);
+
+    List<Post> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Post> findByUserIdInAndIsActiveTrueOrderByCreatedAtDescIdDesc(Collection<Long> userIds, Pageable pageable);
     
     @Query("""
         SELECT p FROM Post p 
@@ -22,4 +32,29 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         ORDER BY p.createdAt DESC
     """)
     List<Post> findPostsFromFollowedUsers(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+        SELECT p FROM Post p 
+        JOIN Follow f ON p.userId = f.followeeId 
+        WHERE f.followerId = :userId 
+        AND p.isActive = true 
+        AND p.createdAt > :since 
+        AND p.createdAt <= :until 
+        ORDER BY p.createdAt DESC
+    """)
+    List<Post> findPostsFromFollowedUsersBetween(@Param("userId") Long userId,
+                                                 @Param("since") LocalDateTime since,
+                                                 @Param("until") LocalDateTime until,
+                                                 Pageable pageable);
+
+    @Query("SELECT new com.example.feed.model.PostEngagement(p.id, p.likesCount) FROM Post p WHERE p.id IN :postIds")
+    List<PostEngagement> findEngagementByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query("""
+        SELECT MAX(p.createdAt) FROM Post p 
+        JOIN Follow f ON p.userId = f.followeeId 
+        WHERE f.followerId = :userId 
+        AND p.isActive = true
+    """)
+    Optional<LocalDateTime> findLatestCreatedAtFromFollowedUsers(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,376 @@
+package com.example.feed.repository;
+
+import com.example.feed.model.TimelineEntry;
+import com.example.feed.model.TimelineSegmentCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores each user's timeline as a sequence of {@code timeline_segments} rows holding up to
+ * {@code feed.timeline.segment-capacity} packed entries. Appends go to the head (highest
+ * {@code segment_no}) segment; a new segment is started when the head is full. Backfills can
+ * append entries older than the head, so every segment records its epoch bounds and reads merge
+ * segments by time rather than by {@code segment_no}.
+ */
+@Repository
+public class TimelineSegmentRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineSegmentRepository.class);
+    private static final int MAX_APPEND_ATTEMPTS = 5;
+
+    static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator.comparingLong(TimelineEntry::epochMillis)
+            .thenComparingLong(TimelineEntry::postId)
+            .reversed();
+
+    private static final String APPEND_TO_HEAD_SQL = """
+            UPDATE timeline_segments s
+            SET payload = s.payload || ?, item_count = s.item_count + ?,
+                min_epoch_millis = LEAST(s.min_epoch_millis, ?), max_epoch_millis = GREATEST(s.max_epoch_millis, ?),
+                updated_at = CURRENT_TIMESTAMP
+            WHERE s.user_id = ?
+            AND s.segment_no = (SELECT MAX(segment_no) FROM timeline_segments WHERE user_id = ?)
+            AND s.item_count + ? <= ?
+            """;
+
+    private static final String START_SEGMENT_SQL = """
+            INSERT INTO timeline_segments (user_id, segment_no, item_count, payload, min_epoch_millis, max_epoch_millis)
+            SELECT ?, COALESCE(MAX(segment_no) + 1, 0), ?, ?, ?, ? FROM timeline_segments WHERE user_id = ?
+            ON CONFLICT (user_id, segment_no) DO NOTHING
+            """;
+
+    private static final String OVERLAPPING_SEGMENTS_SQL = """
+            SELECT user_id, payload FROM timeline_segments
+            WHERE user_id = ANY (CAST(? AS bigint[])) AND max_epoch_millis >= ? AND min_epoch_millis <= ?
+            """;
+
+    private static final String SEGMENT_BOUNDS_SQL = """
+            SELECT segment_no, max_epoch_millis FROM timeline_segments
+            WHERE user_id = ?
+            ORDER BY max_epoch_millis DESC, segment_no DESC
+            """;
+
+    private static final String SEGMENT_PAYLOADS_SQL = """
+            SELECT payload FROM timeline_segments
+            WHERE user_id = ? AND segment_no = ANY (CAST(? AS integer[]))
+            """;
+
+    private static final String SEGMENTS_COVERING_SQL = """
+            SELECT user_id, segment_no, payload FROM timeline_segments
+            WHERE user_id = ANY (CAST(? AS bigint[])) AND min_epoch_millis <= ? AND max_epoch_millis >= ?
+            FOR UPDATE
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int segmentCapacity;
+
+    public TimelineSegmentRepository(JdbcTemplate jdbcTemplate,
+            @Value("${feed.timeline.segment-capacity:64}") int segmentCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.segmentCapacity = segmentCapacity;
+    }
+
+    public int appendAll(Map<Long, List<TimelineEntry>> entriesByUser) {
+        Map<Long, Set<Long>> existing = findExistingPostIds(entriesByUser);
+        List<PendingAppend> appends = new ArrayList<>();
+        entriesByUser.forEach((userId, entries) -> {
+            Set<Long> seen = existing.getOrDefault(userId, new HashSet<>());
+            List<TimelineEntry> fresh = entries.stream()
+                    .filter(entry -> seen.add(entry.postId()))
+                    .sorted(NEWEST_FIRST.reversed())
+                    .toList();
+            for (int from = 0; from < fresh.size(); from += segmentCapacity) {
+                List<TimelineEntry> chunk = fresh.subList(from, Math.min(from + segmentCapacity, fresh.size()));
+                appends.add(new PendingAppend(userId, chunk.size(), TimelineSegmentCodec.encode(chunk),
+                        chunk.get(0).epochMillis(), chunk.get(chunk.size() - 1).epochMillis()));
+            }
+        });
+        if (appends.isEmpty()) {
+            return 0;
+        }
+
+        int[][] results = jdbcTemplate.batchUpdate(APPEND_TO_HEAD_SQL, appends, appends.size(), (statement, append) -> {
+            statement.setBytes(1, append.payload());
+            statement.setInt(2, append.count());
+            statement.setLong(3, append.minEpochMillis());
+            statement.setLong(4, append.maxEpochMillis());
+            statement.setLong(5, append.userId());
+            statement.setLong(6, append.userId());
+            statement.setInt(7, append.count());
+            statement.setInt(8, segmentCapacity);
+        });
+
+        int appended = 0;
+        int index = 0;
+        for (int[] batch : results) {
+            for (int updated : batch) {
+                PendingAppend append = appends.get(index++);
+                if (updated > 0) {
+                    appended += append.count();
+                } else {
+                    appended += appendSlowPath(append);
+                }
+            }
+        }
+        return appended;
+    }
+
+    /**
+     * Returns the newest {@code limit} entries, newest first. Segments are read in descending order
+     * of their newest entry and reading stops once {@code limit} entries are newer than anything
+     * an unread segment can hold.
+     */
+    public List<TimelineEntry> readLatest(Long userId, int limit) {
+        List<SegmentBound> bounds = jdbcTemplate.query(SEGMENT_BOUNDS_SQL,
+                (resultSet, rowNum) -> new SegmentBound(resultSet.getInt(1), resultSet.getLong(2)),
+                userId);
+        int segmentsPerRead = Math.max(2, (limit + segmentCapacity - 1) / segmentCapacity + 1);
+
+        Map<Long, TimelineEntry> entriesByPost = new HashMap<>();
+        for (int from = 0; from < bounds.size(); from += segmentsPerRead) {
+            int to = Math.min(from + segmentsPerRead, bounds.size());
+            Integer[] segmentNos = bounds.subList(from, to).stream().map(SegmentBound::segmentNo).toArray(Integer[]::new);
+            List<byte[]> payloads = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SEGMENT_PAYLOADS_SQL);
+                statement.setLong(1, userId);
+                statement.setArray(2, connection.createArrayOf("integer", segmentNos));
+                return statement;
+            }, (resultSet, rowNum) -> resultSet.getBytes(1));
+            for (byte[] payload : payloads) {
+                TimelineSegmentCodec.forEachNewestFirst(payload, entry -> entriesByPost.putIfAbsent(entry.postId(), entry));
+            }
+
+            if (to < bounds.size()) {
+                long unreadMax = bounds.get(to).maxEpochMillis();
+                long settled = entriesByPost.values().stream().filter(entry -> entry.epochMillis() > unreadMax).count();
+                if (settled >= limit) {
+                    break;
+                }
+            }
+        }
+
+        return entriesByPost.values().stream()
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    public long countEntries(Long userId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(item_count), 0) FROM timeline_segments WHERE user_id = ?", Long.class, userId);
+        return count != null ? count : 0;
+    }
+
+    @Transactional
+    public int removeAuthor(Long userId, Long authorId) {
+        List<byte[]> payloads = jdbcTemplate.query(
+                "SELECT payload FROM timeline_segments WHERE user_id = ? ORDER BY segment_no FOR UPDATE",
+                (resultSet, rowNum) -> resultSet.getBytes(1),
+                userId);
+
+        Map<Long, TimelineEntry> kept = new HashMap<>();
+        int removed = 0;
+        for (byte[] payload : payloads) {
+            for (int index = 0; index < TimelineSegmentCodec.entryCount(payload); index++) {
+                TimelineEntry entry = TimelineSegmentCodec.entryAt(payload, index);
+                if (entry.authorId() == authorId) {
+                    removed++;
+                } else {
+                    kept.putIfAbsent(entry.postId(), entry);
+                }
+            }
+        }
+        if (removed == 0) {
+            return 0;
+        }
+
+        List<TimelineEntry> ordered = kept.values().stream().sorted(NEWEST_FIRST.reversed()).toList();
+        jdbcTemplate.update("DELETE FROM timeline_segments WHERE user_id = ?", userId);
+        List<Object[]> segments = new ArrayList<>();
+        for (int from = 0, segmentNo = 0; from < ordered.size(); from += segmentCapacity, segmentNo++) {
+            List<TimelineEntry> chunk = ordered.subList(from, Math.min(from + segmentCapacity, ordered.size()));
+            segments.add(new Object[] {userId, segmentNo, chunk.size(), TimelineSegmentCodec.encode(chunk),
+                    chunk.get(0).epochMillis(), chunk.get(chunk.size() - 1).epochMillis()});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO timeline_segments (user_id, segment_no, item_count, payload, min_epoch_millis, max_epoch_millis)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, segments);
+        log.info("Eliminados {} elementos del autor {} en el timeline segmentado del usuario {}", removed, authorId, userId);
+        return removed;
+    }
+
+    /**
+     * Removes one post from the timelines of {@code userIds}. Only segments whose epoch bounds cover
+     * the post's creation time are read and rewritten; a segment left empty is deleted.
+     */
+    @Transactional
+    public int removePost(List<Long> userIds, long postId, long epochMillis) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Segment> segments = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SEGMENTS_COVERING_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            statement.setLong(2, epochMillis);
+            statement.setLong(3, epochMillis);
+            return statement;
+        }, (resultSet, rowNum) -> new Segment(resultSet.getLong(1), resultSet.getInt(2), resultSet.getBytes(3)));
+
+        List<Object[]> rewritten = new ArrayList<>();
+        List<Object[]> emptied = new ArrayList<>();
+        int removed = 0;
+        for (Segment segment : segments) {
+            List<TimelineEntry> kept = new ArrayList<>();
+            for (int index = 0; index < TimelineSegmentCodec.entryCount(segment.payload()); index++) {
+                TimelineEntry entry = TimelineSegmentCodec.entryAt(segment.payload(), index);
+                if (entry.postId() != postId) {
+                    kept.add(entry);
+                }
+            }
+            int removedHere = TimelineSegmentCodec.entryCount(segment.payload()) - kept.size();
+            if (removedHere == 0) {
+                continue;
+            }
+            removed += removedHere;
+            if (kept.isEmpty()) {
+                emptied.add(new Object[] {segment.userId(), segment.segmentNo()});
+            } else {
+                LongSummaryStatistics epochs = kept.stream().mapToLong(TimelineEntry::epochMillis).summaryStatistics();
+                rewritten.add(new Object[] {TimelineSegmentCodec.encode(kept), kept.size(), epochs.getMin(),
+                        epochs.getMax(), segment.userId(), segment.segmentNo()});
+            }
+        }
+
+        if (!rewritten.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    UPDATE timeline_segments
+                    SET payload = ?, item_count = ?, min_epoch_millis = ?, max_epoch_millis = ?, updated_at = CURRENT_TIMESTAMP
+                    WHERE user_id = ? AND segment_no = ?
+                    """, rewritten);
+        }
+        if (!emptied.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM timeline_segments WHERE user_id = ? AND segment_no = ?", emptied);
+        }
+        return removed;
+    }
+
+    public int deleteOlderThan(long cutoffEpochMillis, int batchSize) {
+        String sql = "DELETE FROM timeline_segments WHERE ctid IN ("
+                + "SELECT ctid FROM timeline_segments WHERE max_epoch_millis < ? LIMIT ?)";
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, cutoffEpochMillis, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    public List<Long> findUsersOverLimit(int maxItemsPerUser, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM timeline_segments GROUP BY user_id HAVING COUNT(*) > ? LIMIT ?",
+                Long.class, maxSegmentsFor(maxItemsPerUser), limit);
+    }
+
+    /**
+     * Drops each user's oldest segments beyond the ones needed to hold {@code maxItemsPerUser} entries.
+     */
+    public int trimToLatest(List<Long> userIds, int maxItemsPerUser) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        String sql = """
+                DELETE FROM timeline_segments WHERE user_id = ? AND segment_no IN (
+                    SELECT segment_no FROM timeline_segments WHERE user_id = ?
+                    ORDER BY max_epoch_millis DESC, segment_no DESC OFFSET ?)
+                """;
+        int maxSegments = maxSegmentsFor(maxItemsPerUser);
+        int[][] results = jdbcTemplate.batchUpdate(sql, userIds, userIds.size(), (statement, userId) -> {
+            statement.setLong(1, userId);
+            statement.setLong(2, userId);
+            statement.setInt(3, maxSegments);
+        });
+
+        int trimmed = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                trimmed += Math.max(count, 0);
+            }
+        }
+        return trimmed;
+    }
+
+    private int maxSegmentsFor(int maxItemsPerUser) {
+        return Math.max(1, (maxItemsPerUser + segmentCapacity - 1) / segmentCapacity);
+    }
+
+    private Map<Long, Set<Long>> findExistingPostIds(Map<Long, List<TimelineEntry>> entriesByUser) {
+        Map<Long, Set<Long>> existing = new HashMap<>();
+        if (entriesByUser.isEmpty()) {
+            return existing;
+        }
+
+        LongSummaryStatistics epochs = entriesByUser.values().stream()
+                .flatMap(List::stream)
+                .mapToLong(TimelineEntry::epochMillis)
+                .summaryStatistics();
+        if (epochs.getCount() == 0) {
+            return existing;
+        }
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(OVERLAPPING_SEGMENTS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", entriesByUser.keySet().toArray()));
+            statement.setLong(2, epochs.getMin());
+            statement.setLong(3, epochs.getMax());
+            return statement;
+        }, resultSet -> {
+            Set<Long> postIds = existing.computeIfAbsent(resultSet.getLong(1), userId -> new HashSet<>());
+            TimelineSegmentCodec.forEachNewestFirst(resultSet.getBytes(2), entry -> postIds.add(entry.postId()));
+        });
+        return existing;
+    }
+
+    private int appendSlowPath(PendingAppend append) {
+        for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+            int started = jdbcTemplate.update(START_SEGMENT_SQL, append.userId(), append.count(), append.payload(),
+                    append.minEpochMillis(), append.maxEpochMillis(), append.userId());
+            if (started > 0) {
+                return append.count();
+            }
+            int updated = jdbcTemplate.update(APPEND_TO_HEAD_SQL, append.payload(), append.count(),
+                    append.minEpochMillis(), append.maxEpochMillis(),
+                    append.userId(), append.userId(), append.count(), segmentCapacity);
+            if (updated > 0) {
+                return append.count();
+            }
+        }
+        log.warn("No se pudo añadir {} elementos al timeline segmentado del usuario {}", append.count(), append.userId());
+        return 0;
+    }
+
+    private record PendingAppend(Long userId, int count, byte[] payload, long minEpochMillis, long maxEpochMillis) {
+    }
+
+    private record SegmentBound(int segmentNo, long maxEpochMillis) {
+    }
+
+    private record Segment(long userId, int segmentNo, byte[] payload) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.feed.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based maintenance of {@code user_statistics}: adds many users' counter deltas in one
+ * statement, and recomputes exact counts for a set of users from {@code posts} and {@code follows},
+ * upserting only the rows that drifted.
+ */
+@Repository
+public class UserStatisticsBatchRepository {
+
+    private static final String ADD_DELTAS_SQL = """
+            UPDATE user_statistics s
+            SET posts_count = GREATEST(0, s.posts_count + d.posts),
+                followers_count = GREATEST(0, s.followers_count + d.followers),
+                following_count = GREATEST(0, s.following_count + d.following),
+                updated_at = LOCALTIMESTAMP
+            FROM unnest(CAST(? AS bigint[]), CAST(? AS integer[]), CAST(? AS integer[]), CAST(? AS integer[]))
+                AS d(user_id, posts, followers, following)
+            WHERE s.user_id = d.user_id
+            RETURNING s.user_id
+            """;
+
+    private static final String RECONCILE_SQL = """
+            INSERT INTO user_statistics AS s (user_id, posts_count, followers_count, following_count, updated_at)
+            SELECT u.id,
+                   (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id AND p.is_active = TRUE),
+                   (SELECT COUNT(*) FROM follows f WHERE f.followee_id = u.id),
+                   (SELECT COUNT(*) FROM follows f WHERE f.follower_id = u.id),
+                   LOCALTIMESTAMP
+            FROM users u
+            WHERE u.id = ANY (CAST(? AS bigint[]))
+            ON CONFLICT (user_id) DO UPDATE
+            SET posts_count = EXCLUDED.posts_count,
+                followers_count = EXCLUDED.followers_count,
+                following_count = EXCLUDED.following_count,
+                updated_at = EXCLUDED.updated_at
+            WHERE (s.posts_count, s.followers_count, s.following_count)
+                IS DISTINCT FROM (EXCLUDED.posts_count, EXCLUDED.followers_count, EXCLUDED.following_count)
+            """;
+
+    private static final String USER_IDS_AFTER_SQL = "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserStatisticsBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the deltas and initialises the missing users from exact counts in one transaction, so a
+     * failure leaves every delta unapplied and the whole batch can be retried. Returns the users that
+     * were initialised.
+     */
+    @Transactional
+    public Set<Long> applyDeltas(List<Long> userIds, List<Integer> posts, List<Integer> followers,
+            List<Integer> following) {
+        Set<Long> missing = addDeltas(userIds, posts, followers, following);
+        reconcile(missing);
+        return missing;
+    }
+
+    /**
+     * Returns the users that had no statistics row, whose deltas were therefore not applied.
+     */
+    public Set<Long> addDeltas(List<Long> userIds, List<Integer> posts, List<Integer> followers,
+            List<Integer> following) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Long> updated = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADD_DELTAS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            statement.setArray(2, connection.createArrayOf("integer", posts.toArray()));
+            statement.setArray(3, connection.createArrayOf("integer", followers.toArray()));
+            statement.setArray(4, connection.createArrayOf("integer", following.toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong("user_id"));
+
+        Set<Long> missing = new HashSet<>(userIds);
+        updated.forEach(missing::remove);
+        return missing;
+    }
+
+    public int reconcile(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECONCILE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        });
+    }
+
+    public List<Long> findUserIdsAfter(long userId, int limit) {
+        return jdbcTemplate.queryForList(USER_IDS_AFTER_SQL, Long.class, userId, limit);
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.feed.service;
 
+import com.example.feed.entity.Post;
 import com.example.feed.repository.FeedCacheRepository;
 import com.example.feed.repository.PostCacheRepository;
+import com.example.feed.repository.PostRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 @Service
 public class CacheManagementService {
 
@@ -13,11 +21,23 @@ public class CacheManagementService {
 
     private final PostCacheRepository postCacheRepository;
     private final FeedCacheRepository feedCacheRepository;
+    private final PostRepository postRepository;
+    private final FeedService feedService;
+    private final CacheManager cacheManager;
+    private final TimelineVersionRegistry timelineVersionRegistry;
 
     public CacheManagementService(PostCacheRepository postCacheRepository, 
-                                FeedCacheRepository feedCacheRepository) {
+                                FeedCacheRepository feedCacheRepository,
+                                PostRepository postRepository,
+                                FeedService feedService,
+                                CacheManager cacheManager,
+                                TimelineVersionRegistry timelineVersionRegistry) {
         this.postCacheRepository = postCacheRepository;
         this.feedCacheRepository = feedCacheRepository;
+        this.postRepository = postRepository;
+        this.feedService = feedService;
+        this.cacheManager = cacheManager;
+        this.timelineVersionRegistry = timelineVersionRegistry;
     }
 
     public void evictPost(Long postId) {
@@ -32,7 +52,7 @@ public class CacheManagementService {
 
     public void evictUserFeed(Long userId) {
         log.info("Evictando feed del usuario: {} del caché", userId);
-        feedCacheRepository.evictUserFeedFromCache(userId);
+        timelineVersionRegistry.bump(userId);
     }
 
     public void evictUserFeedPage(Long userId, int page, int size) {
@@ -55,8 +75,7 @@ public class CacheManagementService {
     public void warmUpUserFeedCache(Long userId, int page, int size) {
         log.info("Precalentando caché del feed para usuario: {}", userId);
         try {
-            feedCacheRepository.findFeedWithPostsByUserId(userId, 
-                org.springframework.data.domain.PageRequest.of(page, size));
+            feedService.getUserFeed(userId, page, size);
             log.info("Caché precalentado exitosamente para usuario: {}", userId);
         } catch (Exception e) {
             log.error("Error al precalentar caché para usuario: {}", userId, e);
@@ -72,4 +91,27 @@ public class CacheManagementService {
             log.error("Error al precalentar caché del post con ID: {}", postId, e);
         }
     }
+
+    public int warmUpPostCache(Collection<Long> postIds, int batchSize) {
+        Cache postsCache = cacheManager.getCache("posts");
+        if (postsCache == null || postIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(postIds);
+        int warmed = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                for (Post post : postRepository.findAllById(batch)) {
+                    postsCache.put(post.getId(), post);
+                    warmed++;
+                }
+            } catch (Exception e) {
+                log.error("Error al precalentar lote de {} posts en caché", batch.size(), e);
+            }
+        }
+        log.info("Caché de posts precalentado con {} de {} posts", warmed, ids.size());
+        return warmed;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.example.feed.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the hottest timeline and post cache keys to a local file on shutdown and replays them
+ * on startup, before the instance reports ready, so a fresh deploy does not start with cold caches.
+ *
+ * <p>File layout (big-endian): magic, version, timeline count, {@code (userId, page, size)} entries,
+ * post count, {@code postId} entries.
+ */
+@Service
+public class CacheSnapshotService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSnapshotService.class);
+    private static final int MAGIC = 0x46534E50;
+    private static final byte VERSION = 1;
+
+    private final HotCacheKeyTracker hotCacheKeyTracker;
+    private final FeedService feedService;
+    private final CacheManagementService cacheManagementService;
+
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final int maxTimelines;
+    private final int maxPosts;
+    private final int postBatchSize;
+    private final Duration restoreTimeout;
+
+    private volatile RestoreState restoreState = RestoreState.PENDING;
+    private volatile RestoreResult lastRestore;
+
+    public CacheSnapshotService(HotCacheKeyTracker hotCacheKeyTracker,
+            FeedService feedService,
+            CacheManagementService cacheManagementService,
+            @Value("${feed.cache-snapshot.enabled:true}") boolean enabled,
+            @Value("${feed.cache-snapshot.path:${java.io.tmpdir}/feed-cache.snapshot}") Path snapshotPath,
+            @Value("${feed.cache-snapshot.max-timelines:1000}") int maxTimelines,
+            @Value("${feed.cache-snapshot.max-posts:5000}") int maxPosts,
+            @Value("${feed.cache-snapshot.post-batch-size:200}") int postBatchSize,
+            @Value("${feed.cache-snapshot.restore-timeout:PT30S}") Duration restoreTimeout) {
+        this.hotCacheKeyTracker = hotCacheKeyTracker;
+        this.feedService = feedService;
+        this.cacheManagementService = cacheManagementService;
+        this.enabled = enabled;
+        this.snapshotPath = snapshotPath;
+        this.maxTimelines = maxTimelines;
+        this.maxPosts = maxPosts;
+        this.postBatchSize = postBatchSize;
+        this.restoreTimeout = restoreTimeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            restoreState = RestoreState.DISABLED;
+            return;
+        }
+        if (!Files.isRegularFile(snapshotPath)) {
+            log.info("No existe snapshot de caché en {}, se inicia con cachés vacíos", snapshotPath);
+            restoreState = RestoreState.SKIPPED;
+            return;
+        }
+
+        restoreState = RestoreState.RESTORING;
+        try {
+            lastRestore = restore();
+            restoreState = RestoreState.RESTORED;
+            log.info("Snapshot de caché restaurado: {} timelines y {} posts en {} ms",
+                    lastRestore.timelines(), lastRestore.posts(), lastRestore.durationMs());
+        } catch (IOException | RuntimeException e) {
+            restoreState = RestoreState.FAILED;
+            log.error("Error al restaurar snapshot de caché desde {}", snapshotPath, e);
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void writeSnapshot() {
+        if (!enabled) {
+            return;
+        }
+
+        List<HotCacheKeyTracker.TimelineKey> timelines = hotCacheKeyTracker.hottestTimelines(maxTimelines);
+        List<Long> posts = hotCacheKeyTracker.hottestPosts(maxPosts);
+        if (timelines.isEmpty() && posts.isEmpty()) {
+            try {
+                if (Files.deleteIfExists(snapshotPath)) {
+                    log.info("Sin claves calientes al apagar, snapshot anterior {} eliminado", snapshotPath);
+                }
+            } catch (IOException e) {
+                log.error("Error al eliminar el snapshot de caché anterior {}", snapshotPath, e);
+            }
+            return;
+        }
+
+        try {
+            Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+            Path tempFile = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (OutputStream file = Files.newOutputStream(tempFile);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(timelines.size());
+                for (HotCacheKeyTracker.TimelineKey key : timelines) {
+                    out.writeLong(key.userId());
+                    out.writeInt(key.page());
+                    out.writeInt(key.size());
+                }
+                out.writeInt(posts.size());
+                for (Long postId : posts) {
+                    out.writeLong(postId);
+                }
+            }
+            Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Snapshot de caché escrito en {}: {} timelines y {} posts", snapshotPath, timelines.size(), posts.size());
+        } catch (IOException e) {
+            log.error("Error al escribir snapshot de caché en {}", snapshotPath, e);
+        }
+    }
+
+    public RestoreState getRestoreState() {
+        return restoreState;
+    }
+
+    public RestoreResult getLastRestore() {
+        return lastRestore;
+    }
+
+    private RestoreResult restore() throws IOException {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + restoreTimeout.toMillis();
+        int restoredTimelines = 0;
+        Set<Long> postIds = new LinkedHashSet<>();
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("Formato de snapshot no reconocido: " + snapshotPath);
+            }
+
+            int timelineCount = buffer.getInt();
+            for (int i = 0; i < timelineCount; i++) {
+                long userId = buffer.getLong();
+                int page = buffer.getInt();
+                int size = buffer.getInt();
+                if (System.currentTimeMillis() < deadline) {
+                    feedService.getUserFeed(userId, page, size)
+                            .forEach(item -> postIds.add(item.getPostId()));
+                    restoredTimelines++;
+                }
+            }
+
+            int postCount = buffer.getInt();
+            for (int i = 0; i < postCount; i++) {
+                postIds.add(buffer.getLong());
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Snapshot truncado: " + snapshotPath, e);
+        }
+
+        int restoredPosts = System.currentTimeMillis() < deadline
+                ? cacheManagementService.warmUpPostCache(postIds, postBatchSize)
+                : 0;
+
+        return new RestoreResult(restoredTimelines, restoredPosts, System.currentTimeMillis() - startTime);
+    }
+
+    public enum RestoreState {
+        PENDING, DISABLED, SKIPPED, RESTORING, RESTORED, FAILED
+    }
+
+    public record RestoreResult(int timelines, int posts, long durationMs) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.CommentDTO;
+import com.example.feed.dto.CommentThreadDTO;
+import com.example.feed.dto.CreateCommentRequest;
+import com.example.feed.entity.Comment;
+import com.example.feed.repository.CommentRepository;
+import com.example.feed.repository.PostCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comment threads of a post. A thread is read with one indexed query (the whole post, or one page
+ * of root comments plus their replies through a recursive CTE) and assembled into a tree in a
+ * single pass; whole-post threads are cached in {@code commentThreads} until a comment is added.
+ */
+@Service
+@Transactional
+public class CommentService {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentService.class);
+
+    private final CommentRepository commentRepository;
+    private final PostCacheRepository postCacheRepository;
+
+    public CommentService(CommentRepository commentRepository, PostCacheRepository postCacheRepository) {
+        this.commentRepository = commentRepository;
+        this.postCacheRepository = postCacheRepository;
+    }
+
+    @Cacheable(value = "commentThreads", key = "#postId")
+    @Transactional(readOnly = true)
+    public CommentThreadDTO getThread(Long postId) {
+        long startTime = System.currentTimeMillis();
+        List<Comment> comments = commentRepository.findByPostIdAndIsActiveTrueOrderByCreatedAtAscIdAsc(postId);
+        List<CommentDTO> threads = buildTree(comments);
+
+        log.info("Hilo de comentarios del post {} construido en {} ms - {} comentarios",
+                postId, System.currentTimeMillis() - startTime, comments.size());
+        return new CommentThreadDTO(postId, comments.size(), threads.size(), threads);
+    }
+
+    @Transactional(readOnly = true)
+    public CommentThreadDTO getRootThreads(Long postId, int page, int size) {
+        List<Comment> comments = commentRepository.findRootThreadsPage(postId, size, (long) page * size);
+        long totalThreads = commentRepository.countByPostIdAndParentCommentIdIsNullAndIsActiveTrue(postId);
+        return new CommentThreadDTO(postId, comments.size(), totalThreads, buildTree(comments));
+    }
+
+    @CacheEvict(value = "commentThreads", key = "#postId")
+    public CommentDTO addComment(Long userId, Long postId, CreateCommentRequest request) {
+        postCacheRepository.findById(postId)
+                .filter(post -> Boolean.TRUE.equals(post.getIsActive()))
+                .orElseThrow(() -> new IllegalArgumentException("Post no encontrado con ID: " + postId));
+
+        if (request.getParentCommentId() != null) {
+            Comment parent = commentRepository.findById(request.getParentCommentId())
+                    .filter(comment -> Boolean.TRUE.equals(comment.getIsActive()))
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Comentario no encontrado con ID: " + request.getParentCommentId()));
+            if (!parent.getPostId().equals(postId)) {
+                throw new IllegalArgumentException("El comentario padre no pertenece a este post");
+            }
+        }
+
+        Comment comment = new Comment();
+        comment.setUserId(userId);
+        comment.setPostId(postId);
+        comment.setParentCommentId(request.getParentCommentId());
+        comment.setContent(request.getContent());
+        Comment saved = commentRepository.save(comment);
+
+        log.info("Comentario {} creado en post {} por usuario {}", saved.getId(), postId, userId);
+        return toDto(saved);
+    }
+
+    private static List<CommentDTO> buildTree(List<Comment> comments) {
+        Map<Long, CommentDTO> byId = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            byId.put(comment.getId(), toDto(comment));
+        }
+
+        List<CommentDTO> roots = new ArrayList<>();
+        for (Comment comment : comments) {
+            CommentDTO node = byId.get(comment.getId());
+            if (comment.getParentCommentId() == null) {
+                roots.add(node);
+                continue;
+            }
+            CommentDTO parent = byId.get(comment.getParentCommentId());
+            if (parent != null) {
+                parent.getReplies().add(node);
+            }
+        }
+        return roots;
+    }
+
+    private static CommentDTO toDto(Comment comment) {
+        return new CommentDTO(
+                comment.getId(),
+                comment.getUserId(),
+                comment.getParentCommentId(),
+                comment.getContent(),
+                comment.getCreatedAt());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.feed.service;
+
+import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how long it takes for a post to become visible in its followers' timelines,
+ * measured from the moment {@link FeedService#createPost} publishes the event.
+ */
+@Service
+public class FanoutVisibilityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(FanoutVisibilityTracker.class);
+
+    private final Map<Long, InFlightFanout> inFlight = new ConcurrentHashMap<>();
+    private final Timer visibilityLag;
+    private final Counter failedFanouts;
+
+    public FanoutVisibilityTracker(MeterRegistry meterRegistry) {
+        this.visibilityLag = Timer.builder("feed.fanout.visibility.lag")
+                .description("Tiempo desde la creación de un post hasta su visibilidad en los timelines de los seguidores")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry);
+        this.failedFanouts = Counter.builder("feed.fanout.failures")
+                .description("Fanouts que terminaron con error")
+                .register(meterRegistry);
+        Gauge.builder("feed.fanout.inflight", inFlight, Map::size)
+                .description("Fanouts publicados que aún no han sido entregados")
+                .tag("state", "all")
+                .register(meterRegistry);
+        Gauge.builder("feed.fanout.inflight", this, tracker -> tracker.countRunning())
+                .description("Fanouts que se están ejecutando en este momento")
+                .tag("state", "running")
+                .register(meterRegistry);
+        Gauge.builder("feed.fanout.inflight", this, tracker -> tracker.countDeferred())
+                .description("Fanouts aplazados por el control de admisión")
+                .tag("state", "deferred")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPostCreated(PostCreatedEvent event) {
+        inFlight.putIfAbsent(event.getPostId(), InFlightFanout.queued(event));
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPostsBatchCreated(PostsBatchCreatedEvent event) {
+        event.getPosts().forEach(this::onPostCreated);
+    }
+
+    public void fanoutStarted(PostCreatedEvent event) {
+        Instant now = Instant.now();
+        inFlight.compute(event.getPostId(),
+                (postId, current) -> (current != null ? current : InFlightFanout.queued(event)).running(now));
+    }
+
+    /**
+     * Admission control postponed the post's fan-out; it stays in flight but is not part of the backlog.
+     */
+    public void fanoutDeferred(PostCreatedEvent event) {
+        inFlight.compute(event.getPostId(),
+                (postId, current) -> (current != null ? current : InFlightFanout.queued(event)).asDeferred());
+    }
+
+    public void fanoutCompleted(PostCreatedEvent event, int recipients) {
+        inFlight.remove(event.getPostId());
+        if (recipients == 0 || event.getPublishedAt() == null) {
+            return;
+        }
+        Duration lag = Duration.between(event.getPublishedAt(), Instant.now());
+        visibilityLag.record(lag);
+        log.debug("Post {} visible para {} seguidores tras {} ms", event.getPostId(), recipients, lag.toMillis());
+    }
+
+    /**
+     * The post's fan-out was published as distributed work units; the workers that deliver them
+     * record its visibility lag.
+     */
+    public void fanoutHandedOff(PostCreatedEvent event) {
+        inFlight.remove(event.getPostId());
+    }
+
+    public void fanoutFailed(PostCreatedEvent event) {
+        inFlight.remove(event.getPostId());
+        failedFanouts.increment();
+    }
+
+    public int countInFlight() {
+        return inFlight.size();
+    }
+
+    public int countRunning() {
+        return (int) inFlight.values().stream().filter(fanout -> fanout.startedAt() != null).count();
+    }
+
+    public int countDeferred() {
+        return (int) inFlight.values().stream().filter(InFlightFanout::deferred).count();
+    }
+
+    public List<AuthorFanoutBacklog> slowestInFlightByAuthor(int limit) {
+        Instant now = Instant.now();
+        Map<Long, List<InFlightFanout>> byAuthor = inFlight.values().stream()
+                .collect(Collectors.groupingBy(InFlightFanout::authorId));
+
+        List<AuthorFanoutBacklog> backlog = new ArrayList<>(byAuthor.size());
+        byAuthor.forEach((authorId, fanouts) -> {
+            Instant oldest = fanouts.stream()
+                    .map(InFlightFanout::publishedAt)
+                    .min(Comparator.naturalOrder())
+                    .orElse(now);
+            backlog.add(new AuthorFanoutBacklog(
+                    authorId,
+                    fanouts.size(),
+                    fanouts.stream().filter(fanout -> fanout.startedAt() != null).count(),
+                    Duration.between(oldest, now).toMillis(),
+                    fanouts.stream().map(InFlightFanout::postId).sorted().toList()));
+        });
+
+        return backlog.stream()
+                .sorted(Comparator.comparingLong(AuthorFanoutBacklog::oldestAgeMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public record InFlightFanout(Long postId, Long authorId, Instant publishedAt, Instant startedAt, boolean deferred) {
+
+        static InFlightFanout queued(PostCreatedEvent event) {
+            Instant publishedAt = event.getPublishedAt() != null ? event.getPublishedAt() : Instant.now();
+            return new InFlightFanout(event.getPostId(), event.getAuthorId(), publishedAt, null, false);
+        }
+
+        InFlightFanout asDeferred() {
+            return new InFlightFanout(postId, authorId, publishedAt, startedAt, true);
+        }
+
+        InFlightFanout running(Instant startedAt) {
+            return new InFlightFanout(postId, authorId, publishedAt, startedAt, false);
+        }
+    }
+
+    public record AuthorFanoutBacklog(
+            Long authorId,
+            int inFlightPosts,
+            long runningPosts,
+            long oldestAgeMs,
+            List<Long> postIds) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.feed.service;
+
+import com.example.feed.repository.FeedPartitionRepository;
+import com.example.feed.repository.TimelineSegmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs retention, per-user compaction and vacuum on one {@code feed_items} partition per run,
+ * rotating through the partitions so the cost of each run stays bounded. With segmented storage
+ * the same limits are applied to {@code timeline_segments} on every run. Retention and compaction
+ * permanently delete timeline rows, so maintenance is opt-in ({@code feed.partitions.maintenance.enabled}).
+ */
+@Service
+public class FeedPartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedPartitionMaintenanceService.class);
+
+    private final FeedPartitionRepository feedPartitionRepository;
+    private final TimelineSegmentRepository timelineSegmentRepository;
+    private final TimelineStore timelineStore;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int maxItemsPerUser;
+    private final int deleteBatchSize;
+    private final int trimUsersPerRun;
+
+    public FeedPartitionMaintenanceService(FeedPartitionRepository feedPartitionRepository,
+            TimelineSegmentRepository timelineSegmentRepository,
+            TimelineStore timelineStore,
+            @Value("${feed.partitions.maintenance.enabled:false}") boolean enabled,
+            @Value("${feed.partitions.maintenance.retention-days:90}") int retentionDays,
+            @Value("${feed.partitions.maintenance.max-items-per-user:1000}") int maxItemsPerUser,
+            @Value("${feed.partitions.maintenance.delete-batch-size:5000}") int deleteBatchSize,
+            @Value("${feed.partitions.maintenance.trim-users-per-run:500}") int trimUsersPerRun) {
+        this.feedPartitionRepository = feedPartitionRepository;
+        this.timelineSegmentRepository = timelineSegmentRepository;
+        this.timelineStore = timelineStore;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.maxItemsPerUser = maxItemsPerUser;
+        this.deleteBatchSize = deleteBatchSize;
+        this.trimUsersPerRun = trimUsersPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${feed.partitions.maintenance.interval:PT15M}",
+            initialDelayString = "${feed.partitions.maintenance.initial-delay:PT5M}")
+    public void maintainNextPartition() {
+        if (!enabled) {
+            return;
+        }
+        int partitionCount = feedPartitionRepository.getPartitionCount();
+        int partition = Math.floorMod(nextPartition.getAndIncrement(), partitionCount);
+        maintainPartition(partition);
+        if (timelineStore.usesSegments()) {
+            maintainSegments();
+        }
+    }
+
+    public void maintainPartition(int partition) {
+        long startTime = System.currentTimeMillis();
+        String table = feedPartitionRepository.tableFor(partition);
+        try {
+            int expired = feedPartitionRepository.deleteOlderThan(
+                    partition, LocalDateTime.now().minusDays(retentionDays), deleteBatchSize);
+            List<Long> oversized = feedPartitionRepository.findUsersOverLimit(partition, maxItemsPerUser, trimUsersPerRun);
+            int trimmed = feedPartitionRepository.trimToLatest(partition, oversized, maxItemsPerUser);
+            feedPartitionRepository.vacuumAnalyze(partition);
+
+            log.info("Mantenimiento de {} completado en {} ms - {} elementos expirados, {} compactados",
+                    table, System.currentTimeMillis() - startTime, expired, trimmed);
+        } catch (Exception e) {
+            log.error("Error en mantenimiento de la partición {}", table, e);
+        }
+    }
+
+    public void maintainSegments() {
+        long startTime = System.currentTimeMillis();
+        try {
+            long cutoff = LocalDateTime.now().minusDays(retentionDays)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            int expired = timelineSegmentRepository.deleteOlderThan(cutoff, deleteBatchSize);
+            List<Long> oversized = timelineSegmentRepository.findUsersOverLimit(maxItemsPerUser, trimUsersPerRun);
+            int trimmed = timelineSegmentRepository.trimToLatest(oversized, maxItemsPerUser);
+
+            log.info("Mantenimiento de timeline_segments completado en {} ms - {} segmentos expirados, {} compactados",
+                    System.currentTimeMillis() - startTime, expired, trimmed);
+        } catch (Exception e) {
+            log.error("Error en mantenimiento de timeline_segments", e);
+        }
+    }
+}
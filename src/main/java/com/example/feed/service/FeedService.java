@@ -1,15 +1,22 @@
 package com.example.feed.service;
 
+import com.example.feed.datasource.ReadYourWritesTracker;
+import com.example.feed.dto.BulkCreatePostsRequest;
 import com.example.feed.dto.CreatePostRequest;
 import com.example.feed.dto.FeedItemDTO;
 import com.example.feed.entity.Follow;
 import com.example.feed.entity.Post;
 import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostDeactivatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
 import com.example.feed.event.UserFollowedEvent;
+import com.example.feed.event.UserUnfollowedEvent;
 import com.example.feed.model.FeedItemWithPost;
 import com.example.feed.repository.FeedCacheRepository;
 import com.example.feed.repository.FollowRepository;
+import com.example.feed.repository.PostBatchRepository;
 import com.example.feed.repository.PostCacheRepository;
+import com.example.feed.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
@@ -18,10 +25,14 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @Transactional
@@ -30,18 +41,39 @@ public class FeedService {
     private static final Logger log = LoggerFactory.getLogger(FeedService.class);
 
     private final PostCacheRepository postCacheRepository;
+    private final PostBatchRepository postBatchRepository;
     private final FeedCacheRepository feedCacheRepository;
     private final FollowRepository followRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final HotCacheKeyTracker hotCacheKeyTracker;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TimelineStore timelineStore;
+    private final PostAdmissionService postAdmissionService;
+    private final LikeService likeService;
+    private final UserRepository userRepository;
 
     public FeedService(PostCacheRepository postCacheRepository,
+            PostBatchRepository postBatchRepository,
             FeedCacheRepository feedCacheRepository,
             FollowRepository followRepository,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            HotCacheKeyTracker hotCacheKeyTracker,
+            ReadYourWritesTracker readYourWritesTracker,
+            TimelineStore timelineStore,
+            PostAdmissionService postAdmissionService,
+            LikeService likeService,
+            UserRepository userRepository) {
         this.postCacheRepository = postCacheRepository;
+        this.postBatchRepository = postBatchRepository;
         this.feedCacheRepository = feedCacheRepository;
         this.followRepository = followRepository;
         this.eventPublisher = eventPublisher;
+        this.hotCacheKeyTracker = hotCacheKeyTracker;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.timelineStore = timelineStore;
+        this.postAdmissionService = postAdmissionService;
+        this.likeService = likeService;
+        this.userRepository = userRepository;
     }
 
     @CacheEvict(value = {"userFeeds", "feedItems"}, allEntries = true)
@@ -50,13 +82,17 @@ public class FeedService {
         post.setUserId(userId);
         post.setContent(request.getContent());
 
+        long saveStart = System.nanoTime();
         Post savedPost = postCacheRepository.save(post);
+        postAdmissionService.recordDbLatency(System.nanoTime() - saveStart);
+        readYourWritesTracker.markWrite(userId);
 
         PostCreatedEvent event = new PostCreatedEvent(
                 savedPost.getId(),
                 savedPost.getUserId(),
                 savedPost.getContent(),
-                savedPost.getCreatedAt());
+                savedPost.getCreatedAt(),
+                Instant.now());
 
         eventPublisher.publishEvent(event);
 
@@ -64,13 +100,68 @@ public class FeedService {
         return savedPost;
     }
 
+    @CacheEvict(value = {"userFeeds", "feedItems"}, allEntries = true)
+    public List<Post> createPosts(Long userId, List<BulkCreatePostsRequest.BulkPost> posts) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuario no encontrado con ID: " + userId);
+        }
+
+        long insertStart = System.nanoTime();
+        List<Post> savedPosts = postBatchRepository.insertAll(userId,
+                posts.stream().map(BulkCreatePostsRequest.BulkPost::getContent).toList());
+        postAdmissionService.recordDbLatency((System.nanoTime() - insertStart) / posts.size());
+
+        Instant publishedAt = Instant.now();
+        List<PostCreatedEvent> events = savedPosts.stream()
+                .map(post -> new PostCreatedEvent(post.getId(), userId, post.getContent(), post.getCreatedAt(), publishedAt))
+                .toList();
+        readYourWritesTracker.markWrite(userId);
+        eventPublisher.publishEvent(new PostsBatchCreatedEvent(userId, events));
+
+        log.info("{} posts creados en bloque por el usuario {}", savedPosts.size(), userId);
+        return savedPosts;
+    }
+
+    @CacheEvict(value = {"userFeeds", "feedItems"}, allEntries = true)
+    public void deactivatePost(Long userId, Long postId) {
+        Post post = postCacheRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("Post no encontrado con ID: " + postId));
+
+        if (!post.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("No puedes desactivar un post de otro usuario");
+        }
+
+        if (!Boolean.TRUE.equals(post.getIsActive())) {
+            return;
+        }
+
+        post.setIsActive(false);
+        postCacheRepository.save(post);
+        readYourWritesTracker.markWrite(userId);
+
+        timelineStore.removePost(postId, userId, post.getCreatedAt());
+        eventPublisher.publishEvent(new PostDeactivatedEvent(postId, userId, LocalDateTime.now()));
+
+        log.info("Post {} desactivado por usuario {}", postId, userId);
+    }
+
+    @Transactional(readOnly = true)
     public Post getPostById(Long postId) {
-        return postCacheRepository.findById(postId)
+        hotCacheKeyTracker.recordPostRead(postId);
+        Post post = postCacheRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post no encontrado con ID: " + postId));
+        post.setLikesCount((int) likeService.currentLikesCount(postId, post.getLikesCount()));
+        return post;
     }
 
-    @Cacheable(value = "userFeeds", key = "#userId + '_' + #page + '_' + #size")
+    @Cacheable(value = "userFeeds", key = "#userId + '_' + @timelineVersionRegistry.cacheVersion(#userId) + '_' + #page + '_' + #size")
+    @Transactional(readOnly = true)
     public Page<FeedItemDTO> getUserFeed(Long userId, int page, int size) {
+        if (timelineStore.usesSegments()) {
+            log.info("Recuperando feed segmentado para usuario: {}", userId);
+            return timelineStore.readSegmentedPage(userId, page, size);
+        }
+
         Pageable pageable = PageRequest.of(page, size);
         Page<FeedItemWithPost> feedItemsWithPosts = feedCacheRepository.findFeedWithPostsByUserId(userId, pageable);
         
@@ -98,6 +189,7 @@ public class FeedService {
         follow.setFollowerId(followerId);
         follow.setFolloweeId(followeeId);
         followRepository.save(follow);
+        readYourWritesTracker.markWrite(followerId);
 
         UserFollowedEvent userFollowedEvent = new UserFollowedEvent(
                 followerId,
@@ -119,8 +211,10 @@ public class FeedService {
         }
 
         followRepository.deleteByFollowerIdAndFolloweeId(followerId, followeeId);
+        readYourWritesTracker.markWrite(followerId);
 
-        feedCacheRepository.deleteByUserIdAndAuthorId(followerId, followeeId);
+        timelineStore.removeAuthor(followerId, followeeId);
+        eventPublisher.publishEvent(new UserUnfollowedEvent(followerId, followeeId, LocalDateTime.now()));
 
         log.info("Usuario {} ya no sigue a usuario {}", followerId, followeeId);
     }
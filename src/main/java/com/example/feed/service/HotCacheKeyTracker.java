@@ -0,0 +1,64 @@
+package com.example.feed.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts reads of timeline pages and posts so the hottest cache keys can be snapshotted on shutdown.
+ * The number of tracked keys is capped; once full, only keys already being tracked keep counting.
+ */
+@Service
+public class HotCacheKeyTracker {
+
+    private final Map<TimelineKey, LongAdder> timelineHits = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> postHits = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+
+    public HotCacheKeyTracker(@Value("${feed.cache-snapshot.max-tracked-keys:50000}") int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public void recordTimelineRead(Long userId, int page, int size) {
+        increment(timelineHits, new TimelineKey(userId, page, size));
+    }
+
+    public void recordPostRead(Long postId) {
+        increment(postHits, postId);
+    }
+
+    public List<TimelineKey> hottestTimelines(int limit) {
+        return hottest(timelineHits, limit);
+    }
+
+    public List<Long> hottestPosts(int limit) {
+        return hottest(postHits, limit);
+    }
+
+    private <K> void increment(Map<K, LongAdder> hits, K key) {
+        LongAdder counter = hits.get(key);
+        if (counter == null) {
+            if (hits.size() >= maxTrackedKeys) {
+                return;
+            }
+            counter = hits.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private <K> List<K> hottest(Map<K, LongAdder> hits, int limit) {
+        return hits.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<K, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public record TimelineKey(Long userId, int page, int size) {
+    }
+}
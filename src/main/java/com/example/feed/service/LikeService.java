@@ -0,0 +1,231 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.LikeStatusDTO;
+import com.example.feed.entity.Post;
+import com.example.feed.event.PostLikedEvent;
+import com.example.feed.repository.LikeBatchRepository;
+import com.example.feed.repository.LikeRepository;
+import com.example.feed.repository.PostCacheRepository;
+import com.example.feed.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers like and unlike operations in memory and writes them every
+ * {@code feed.likes.flush-interval} as one batch, so hot posts are not updated once per like.
+ * Until a batch is flushed, the not-yet-persisted change of each post's count is kept per post and
+ * added to the persisted {@code likes_count} when posts are read; a flush subtracts exactly the
+ * changes it wrote, so toggles made while it runs keep their share. Operations being written are
+ * kept in flight until the batch completes, and a toggle on one of them starts from the in-flight
+ * state rather than from the not-yet-updated row. If a batch fails, its operations are applied one
+ * by one: operations the database rejects are dropped, and only those that failed for other
+ * reasons are queued again.
+ */
+@Service
+public class LikeService {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeService.class);
+
+    private final LikeRepository likeRepository;
+    private final LikeBatchRepository likeBatchRepository;
+    private final PostCacheRepository postCacheRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<LikeKey, PendingLike> pending = new ConcurrentHashMap<>();
+    private final Map<LikeKey, Boolean> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    public LikeService(LikeRepository likeRepository,
+            LikeBatchRepository likeBatchRepository,
+            PostCacheRepository postCacheRepository,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.likeBatchRepository = likeBatchRepository;
+        this.postCacheRepository = postCacheRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        Gauge.builder("feed.likes.pending", pending, Map::size)
+                .description("Operaciones de like pendientes de escribir en base de datos")
+                .register(meterRegistry);
+    }
+
+    public LikeStatusDTO like(Long userId, Long postId) {
+        return toggle(userId, postId, true);
+    }
+
+    public LikeStatusDTO unlike(Long userId, Long postId) {
+        return toggle(userId, postId, false);
+    }
+
+    public long currentLikesCount(Long postId, Integer persistedCount) {
+        Long delta = pendingDeltas.get(postId);
+        long persisted = persistedCount != null ? persistedCount : 0;
+        return Math.max(0, persisted + (delta != null ? delta : 0));
+    }
+
+    @Scheduled(fixedDelayString = "${feed.likes.flush-interval:PT1S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<Long> likeUserIds = new ArrayList<>();
+        List<Long> likePostIds = new ArrayList<>();
+        List<Long> unlikeUserIds = new ArrayList<>();
+        List<Long> unlikePostIds = new ArrayList<>();
+        Map<LikeKey, PendingLike> drained = new LinkedHashMap<>();
+        for (LikeKey key : List.copyOf(pending.keySet())) {
+            pending.computeIfPresent(key, (k, operation) -> {
+                inFlight.put(k, operation.liked());
+                drained.put(k, operation);
+                return null;
+            });
+        }
+        drained.forEach((key, operation) -> {
+            (operation.liked() ? likeUserIds : unlikeUserIds).add(key.userId());
+            (operation.liked() ? likePostIds : unlikePostIds).add(key.postId());
+        });
+
+        LikeBatchRepository.AppliedLikes applied;
+        Set<LikeKey> requeued = new HashSet<>();
+        try {
+            try {
+                applied = likeBatchRepository.apply(likeUserIds, likePostIds, unlikeUserIds, unlikePostIds);
+            } catch (RuntimeException e) {
+                log.warn("Error escribiendo {} operaciones de like en bloque, se aplican una a una", drained.size(), e);
+                applied = applyIndividually(drained, requeued);
+            }
+        } finally {
+            drained.keySet().forEach(inFlight::remove);
+        }
+
+        Set<Long> writtenPostIds = new HashSet<>();
+        drained.forEach((key, operation) -> {
+            if (requeued.contains(key)) {
+                return;
+            }
+            long written = operation.delta();
+            if (written != 0) {
+                pendingDeltas.merge(key.postId(), -written, LikeService::addDelta);
+            }
+            writtenPostIds.add(key.postId());
+        });
+        writtenPostIds.forEach(postCacheRepository::evictPostFromCache);
+        applied.inserted().forEach(like -> eventPublisher.publishEvent(
+                new PostLikedEvent(like.postId(), like.authorId(), like.userId(), like.likedAt())));
+
+        log.info("Likes escritos en {} ms - {} likes, {} unlikes, {} posts actualizados",
+                System.currentTimeMillis() - startTime, likeUserIds.size(), unlikeUserIds.size(),
+                applied.deltas().size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private LikeBatchRepository.AppliedLikes applyIndividually(Map<LikeKey, PendingLike> drained, Set<LikeKey> requeued) {
+        List<LikeBatchRepository.InsertedLike> inserted = new ArrayList<>();
+        Map<Long, Integer> deltas = new TreeMap<>();
+        drained.forEach((key, operation) -> {
+            boolean liked = operation.liked();
+            List<Long> userIds = List.of(key.userId());
+            List<Long> postIds = List.of(key.postId());
+            try {
+                LikeBatchRepository.AppliedLikes single = liked
+                        ? likeBatchRepository.apply(userIds, postIds, List.of(), List.of())
+                        : likeBatchRepository.apply(List.of(), List.of(), userIds, postIds);
+                inserted.addAll(single.inserted());
+                single.deltas().forEach((postId, delta) -> deltas.merge(postId, delta, Integer::sum));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Descartada operación de like inválida del usuario {} sobre el post {}: {}",
+                        key.userId(), key.postId(), e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                log.error("Error escribiendo like del usuario {} sobre el post {}, se reintentará",
+                        key.userId(), key.postId(), e);
+                pending.merge(key, operation, (newer, failed) -> new PendingLike(failed.persisted(), newer.liked()));
+                requeued.add(key);
+            }
+        });
+        return new LikeBatchRepository.AppliedLikes(inserted, deltas);
+    }
+
+    private LikeStatusDTO toggle(Long userId, Long postId, boolean liked) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Usuario no encontrado con ID: " + userId);
+        }
+        Post post = postCacheRepository.findById(postId)
+                .filter(found -> Boolean.TRUE.equals(found.getIsActive()))
+                .orElseThrow(() -> new IllegalArgumentException("Post no encontrado con ID: " + postId));
+
+        LikeKey key = new LikeKey(userId, postId);
+        boolean[] flushedMeanwhile = {false};
+        do {
+            Boolean buffered = bufferedState(key);
+            boolean persisted = buffered == null && likeRepository.existsByUserIdAndPostId(userId, postId);
+            flushedMeanwhile[0] = false;
+            pending.compute(key, (k, previous) -> {
+                Boolean flushing = inFlight.get(k);
+                if (previous == null && flushing == null && buffered != null) {
+                    flushedMeanwhile[0] = true;
+                    return null;
+                }
+                boolean base = flushing != null ? flushing : persisted;
+                boolean wasLiked = previous != null ? previous.liked() : base;
+                if (wasLiked != liked) {
+                    pendingDeltas.merge(postId, liked ? 1L : -1L, LikeService::addDelta);
+                }
+                return previous == null && wasLiked == liked
+                        ? null
+                        : new PendingLike(previous != null ? previous.persisted() : base, liked);
+            });
+        } while (flushedMeanwhile[0]);
+
+        return new LikeStatusDTO(postId, liked, currentLikesCount(postId, post.getLikesCount()));
+    }
+
+    private static Long addDelta(Long delta, Long change) {
+        return delta + change == 0 ? null : delta + change;
+    }
+
+    private Boolean bufferedState(LikeKey key) {
+        PendingLike operation = pending.get(key);
+        if (operation != null) {
+            return operation.liked();
+        }
+        return inFlight.get(key);
+    }
+
+    private record LikeKey(Long userId, Long postId) {
+    }
+
+    /**
+     * A buffered operation and the state it started from, so a flush knows how much of the post's
+     * pending count change it wrote.
+     */
+    private record PendingLike(boolean persisted, boolean liked) {
+
+        long delta() {
+            return persisted == liked ? 0 : liked ? 1 : -1;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.feed.service;
 
 import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.entity.Follow;
 import com.example.feed.entity.Post;
+import com.example.feed.model.TimelineEntry;
 import com.example.feed.repository.FollowRepository;
 import com.example.feed.repository.PostRepository;
 import org.slf4j.Logger;
@@ -14,7 +16,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,10 +33,13 @@ public class NoFanoutFeedService {
 
     private final PostRepository postRepository;
     private final FollowRepository followRepository;
+    private final RecentPostsBuffer recentPostsBuffer;
 
-    public NoFanoutFeedService(PostRepository postRepository, FollowRepository followRepository) {
+    public NoFanoutFeedService(PostRepository postRepository, FollowRepository followRepository,
+            RecentPostsBuffer recentPostsBuffer) {
         this.postRepository = postRepository;
         this.followRepository = followRepository;
+        this.recentPostsBuffer = recentPostsBuffer;
     }
 
     @Cacheable(value = "userFeeds", key = "'noFanout_' + #userId + '_' + #page + '_' + #size")
@@ -37,15 +49,53 @@ public class NoFanoutFeedService {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        long followingCount = followRepository.countByFollowerId(userId);
-        log.info("Usuario {} sigue a {} personas", userId, followingCount);
+        List<Long> followeeIds = followRepository.findByFollowerId(userId).stream()
+                .map(Follow::getFolloweeId)
+                .toList();
+        log.info("Usuario {} sigue a {} personas", userId, followeeIds.size());
+
+        int window = (page + 1) * size;
+        Map<Long, List<TimelineEntry>> buffered = recentPostsBuffer.latest(followeeIds, window);
+        List<Long> olderHistory = followeeIds.stream()
+                .filter(followeeId -> !buffered.containsKey(followeeId))
+                .toList();
 
-        List<Post> posts = postRepository.findPostsFromFollowedUsers(userId, pageable);
+        Map<Long, Post> postsById = new HashMap<>();
+        List<TimelineEntry> candidates = new ArrayList<>();
+        buffered.values().forEach(candidates::addAll);
+        if (!olderHistory.isEmpty()) {
+            for (Post post : postRepository.findByUserIdInAndIsActiveTrueOrderByCreatedAtDescIdDesc(
+                    olderHistory, PageRequest.of(0, window))) {
+                postsById.put(post.getId(), post);
+                candidates.add(new TimelineEntry(post.getId(), post.getUserId(),
+                        post.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+            }
+        }
+
+        List<TimelineEntry> pageEntries = candidates.stream()
+                .sorted(Comparator.comparingLong(TimelineEntry::epochMillis)
+                        .thenComparingLong(TimelineEntry::postId)
+                        .reversed())
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+
+        List<Long> toHydrate = pageEntries.stream()
+                .map(TimelineEntry::postId)
+                .filter(postId -> !postsById.containsKey(postId))
+                .toList();
+        if (!toHydrate.isEmpty()) {
+            postsById.putAll(postRepository.findAllById(toHydrate).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity())));
+        }
 
         long queryTime = System.currentTimeMillis() - startTime;
-        log.info("Consulta pull completada en {} ms para {} posts", queryTime, posts.size());
+        log.info("Consulta pull completada en {} ms - {} de {} autores desde memoria", queryTime,
+                buffered.size(), followeeIds.size());
 
-        List<FeedItemDTO> feedItems = posts.stream()
+        List<FeedItemDTO> feedItems = pageEntries.stream()
+                .map(entry -> postsById.get(entry.postId()))
+                .filter(post -> post != null && Boolean.TRUE.equals(post.getIsActive()))
                 .map(post -> new FeedItemDTO(
                         post.getId(),
                         post.getUserId(),
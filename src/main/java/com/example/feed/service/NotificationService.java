@@ -0,0 +1,214 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.NotificationDTO;
+import com.example.feed.dto.NotificationPageDTO;
+import com.example.feed.entity.Notification;
+import com.example.feed.event.PostLikedEvent;
+import com.example.feed.event.UserFollowedEvent;
+import com.example.feed.event.UserUnfollowedEvent;
+import com.example.feed.model.NotificationCursor;
+import com.example.feed.repository.NotificationBatchRepository;
+import com.example.feed.repository.NotificationBatchRepository.PendingNotification;
+import com.example.feed.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns follow and like events into notifications. Events are grouped in memory per recipient,
+ * type and entity, deduplicating actors, for {@code feed.notifications.flush-interval}; each group
+ * is then written as a single notification ("12 personas empezaron a seguirte") in one bulk insert.
+ * If the insert fails, the drained actors are merged back into the groups so the next flush retries them.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+    private static final String TYPE_FOLLOW = "FOLLOW";
+    private static final String TYPE_LIKE = "LIKE";
+    private static final String ENTITY_USER = "USER";
+    private static final String ENTITY_POST = "POST";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final Map<GroupKey, Set<Long>> pending = new ConcurrentHashMap<>();
+    private final Counter written;
+    private final Counter aggregated;
+
+    private final boolean enabled;
+    private final int maxPageSize;
+
+    public NotificationService(NotificationRepository notificationRepository,
+            NotificationBatchRepository notificationBatchRepository,
+            MeterRegistry meterRegistry,
+            @Value("${feed.notifications.enabled:true}") boolean enabled,
+            @Value("${feed.notifications.max-page-size:100}") int maxPageSize) {
+        this.notificationRepository = notificationRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.enabled = enabled;
+        this.maxPageSize = maxPageSize;
+        this.written = Counter.builder("feed.notifications.written")
+                .description("Notificaciones escritas en base de datos")
+                .register(meterRegistry);
+        this.aggregated = Counter.builder("feed.notifications.events")
+                .description("Eventos agregados en notificaciones")
+                .register(meterRegistry);
+        Gauge.builder("feed.notifications.pending", pending, Map::size)
+                .description("Notificaciones agregadas pendientes de escribir")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserFollowed(UserFollowedEvent event) {
+        record(new GroupKey(event.getFolloweeId(), TYPE_FOLLOW, ENTITY_USER, event.getFolloweeId()),
+                event.getFollowerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUnfollowed(UserUnfollowedEvent event) {
+        pending.computeIfPresent(new GroupKey(event.getFolloweeId(), TYPE_FOLLOW, ENTITY_USER, event.getFolloweeId()),
+                (key, actors) -> {
+                    actors.remove(event.getFollowerId());
+                    return actors.isEmpty() ? null : actors;
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostLiked(PostLikedEvent event) {
+        if (event.getAuthorId().equals(event.getLikerId())) {
+            return;
+        }
+        record(new GroupKey(event.getAuthorId(), TYPE_LIKE, ENTITY_POST, event.getPostId()), event.getLikerId());
+    }
+
+    public NotificationPageDTO getNotifications(Long userId, String before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+
+        List<Notification> notifications;
+        if (before == null || before.isBlank()) {
+            notifications = notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, pageRequest);
+        } else {
+            NotificationCursor cursor = parseCursor(before);
+            notifications = notificationRepository.findByUserIdBefore(userId, cursor.toLocalDateTime(),
+                    cursor.id(), pageRequest);
+        }
+
+        List<NotificationDTO> items = notifications.stream()
+                .map(notification -> new NotificationDTO(
+                        notification.getId(),
+                        notification.getType(),
+                        notification.getActorId(),
+                        notification.getEntityType(),
+                        notification.getEntityId(),
+                        notification.getMessage(),
+                        Boolean.TRUE.equals(notification.getIsRead()),
+                        notification.getCreatedAt()))
+                .toList();
+
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            NotificationDTO last = items.get(items.size() - 1);
+            nextCursor = NotificationCursor.of(last.createdAt(), last.id()).toString();
+        }
+        return new NotificationPageDTO(items, nextCursor);
+    }
+
+    @Scheduled(fixedDelayString = "${feed.notifications.flush-interval:PT30S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<GroupKey, Set<Long>> drained = new LinkedHashMap<>();
+        List<PendingNotification> batch = new ArrayList<>();
+        for (GroupKey key : List.copyOf(pending.keySet())) {
+            Set<Long> actors = pending.remove(key);
+            if (actors != null && !actors.isEmpty()) {
+                drained.put(key, actors);
+                batch.add(toNotification(key, actors));
+            }
+        }
+
+        try {
+            int inserted = notificationBatchRepository.insertAll(batch);
+            written.increment(inserted);
+            log.info("{} notificaciones agregadas escritas en {} ms", inserted, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.error("Error escribiendo {} notificaciones agregadas, se reintentarán", batch.size(), e);
+            drained.forEach((key, actors) -> pending.merge(key, actors, NotificationService::mergeActors));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void record(GroupKey key, Long actorId) {
+        if (!enabled) {
+            return;
+        }
+        aggregated.increment();
+        pending.compute(key, (k, actors) -> {
+            Set<Long> updated = actors != null ? actors : new LinkedHashSet<>();
+            updated.remove(actorId);
+            updated.add(actorId);
+            return updated;
+        });
+    }
+
+    private static Set<Long> mergeActors(Set<Long> newer, Set<Long> failed) {
+        Set<Long> merged = new LinkedHashSet<>(failed);
+        for (Long actorId : newer) {
+            merged.remove(actorId);
+            merged.add(actorId);
+        }
+        return merged;
+    }
+
+    private PendingNotification toNotification(GroupKey key, Set<Long> actors) {
+        Long lastActor = actors.stream().reduce((first, second) -> second).orElse(null);
+        int count = actors.size();
+        String message = switch (key.type()) {
+            case TYPE_FOLLOW -> count == 1
+                    ? "El usuario " + lastActor + " empezó a seguirte"
+                    : count + " personas empezaron a seguirte";
+            case TYPE_LIKE -> count == 1
+                    ? "Al usuario " + lastActor + " le gustó tu post"
+                    : "A " + count + " personas les gustó tu post";
+            default -> count + " notificaciones nuevas";
+        };
+        return new PendingNotification(key.userId(), lastActor, key.type(), key.entityType(), key.entityId(), message);
+    }
+
+    private static NotificationCursor parseCursor(String before) {
+        try {
+            return NotificationCursor.parse(before);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private record GroupKey(Long userId, String type, String entityType, Long entityId) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.feed.service;
+
+import com.example.feed.fanout.FanoutWorkQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decides whether new posts are accepted while fanout is saturated. It looks at the fanout backlog
+ * (posts published but not yet delivered, excluding the ones it deferred itself, the executor
+ * queue and, in distributed mode, the work units not yet acknowledged in the shared queue),
+ * connection pool saturation and an EWMA of post write latency per row. Above the defer limits posts are accepted but their fanout is
+ * postponed; above the reject limits post creation answers {@code 429} with {@code Retry-After}.
+ */
+@Service
+public class PostAdmissionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostAdmissionService.class);
+    private static final double LATENCY_ALPHA = 0.2;
+
+    private final FanoutVisibilityTracker fanoutVisibilityTracker;
+    private final ThreadPoolTaskExecutor fanoutTaskExecutor;
+    private final FanoutWorkQueue fanoutWorkQueue;
+    private final MeterRegistry meterRegistry;
+    private final Map<Admission, Counter> decisions = new EnumMap<>(Admission.class);
+
+    private final boolean enabled;
+    private final int deferBacklog;
+    private final int rejectBacklog;
+    private final double deferQueueUtilization;
+    private final double rejectQueueUtilization;
+    private final double deferPoolSaturation;
+    private final int rejectPendingConnections;
+    private final double deferDbLatencyMs;
+    private final double rejectDbLatencyMs;
+    private final Duration deferDelay;
+    private final Duration retryAfter;
+    private final long evaluationIntervalMs;
+
+    private double dbLatencyMs;
+    private long lastLatencySampleAt;
+    private volatile Evaluation lastEvaluation = new Evaluation(Admission.ADMIT, "OK", 0);
+
+    public PostAdmissionService(FanoutVisibilityTracker fanoutVisibilityTracker,
+            @Qualifier("fanoutTaskExecutor") ThreadPoolTaskExecutor fanoutTaskExecutor,
+            ObjectProvider<FanoutWorkQueue> fanoutWorkQueue,
+            MeterRegistry meterRegistry,
+            @Value("${feed.admission.enabled:true}") boolean enabled,
+            @Value("${feed.admission.defer-backlog:200}") int deferBacklog,
+            @Value("${feed.admission.reject-backlog:1000}") int rejectBacklog,
+            @Value("${feed.admission.defer-queue-utilization:0.5}") double deferQueueUtilization,
+            @Value("${feed.admission.reject-queue-utilization:0.9}") double rejectQueueUtilization,
+            @Value("${feed.admission.defer-pool-saturation:0.8}") double deferPoolSaturation,
+            @Value("${feed.admission.reject-pending-connections:10}") int rejectPendingConnections,
+            @Value("${feed.admission.defer-db-latency:PT0.2S}") Duration deferDbLatency,
+            @Value("${feed.admission.reject-db-latency:PT1S}") Duration rejectDbLatency,
+            @Value("${feed.admission.defer-delay:PT30S}") Duration deferDelay,
+            @Value("${feed.admission.retry-after:PT5S}") Duration retryAfter,
+            @Value("${feed.admission.evaluation-interval:PT0.25S}") Duration evaluationInterval) {
+        this.fanoutVisibilityTracker = fanoutVisibilityTracker;
+        this.fanoutTaskExecutor = fanoutTaskExecutor;
+        this.fanoutWorkQueue = fanoutWorkQueue.getIfAvailable();
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.deferBacklog = deferBacklog;
+        this.rejectBacklog = rejectBacklog;
+        this.deferQueueUtilization = deferQueueUtilization;
+        this.rejectQueueUtilization = rejectQueueUtilization;
+        this.deferPoolSaturation = deferPoolSaturation;
+        this.rejectPendingConnections = rejectPendingConnections;
+        this.deferDbLatencyMs = deferDbLatency.toNanos() / 1_000_000.0;
+        this.rejectDbLatencyMs = rejectDbLatency.toNanos() / 1_000_000.0;
+        this.deferDelay = deferDelay;
+        this.retryAfter = retryAfter;
+        this.evaluationIntervalMs = evaluationInterval.toMillis();
+
+        for (Admission admission : Admission.values()) {
+            decisions.put(admission, Counter.builder("feed.admission.decisions")
+                    .description("Decisiones de admisión de nuevos posts")
+                    .tag("decision", admission.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("feed.admission.fanout.backlog", this, PostAdmissionService::fanoutBacklog)
+                .description("Posts pendientes de fanout")
+                .register(meterRegistry);
+        Gauge.builder("feed.admission.fanout.queue.utilization", this, PostAdmissionService::queueUtilization)
+                .description("Ocupación de la cola del ejecutor de fanout")
+                .register(meterRegistry);
+        Gauge.builder("feed.admission.pool.saturation", this, PostAdmissionService::poolSaturation)
+                .description("Ocupación máxima de los pools de conexiones")
+                .register(meterRegistry);
+        Gauge.builder("feed.admission.db.latency", this, PostAdmissionService::dbLatencyMs)
+                .description("Latencia media (EWMA) de escrituras en base de datos en ms")
+                .register(meterRegistry);
+        registerLimit("defer-backlog", deferBacklog);
+        registerLimit("reject-backlog", rejectBacklog);
+        registerLimit("defer-queue-utilization", deferQueueUtilization);
+        registerLimit("reject-queue-utilization", rejectQueueUtilization);
+        registerLimit("defer-pool-saturation", deferPoolSaturation);
+        registerLimit("reject-pending-connections", rejectPendingConnections);
+        registerLimit("defer-db-latency-ms", deferDbLatencyMs);
+        registerLimit("reject-db-latency-ms", rejectDbLatencyMs);
+    }
+
+    public Evaluation admitPost() {
+        Evaluation evaluation = evaluate();
+        decisions.get(evaluation.admission()).increment();
+        if (evaluation.admission() == Admission.REJECT) {
+            log.warn("Creación de post rechazada por saturación del fanout: {}", evaluation.reason());
+        }
+        return evaluation;
+    }
+
+    public boolean shouldDeferFanout() {
+        return evaluate().admission() != Admission.ADMIT;
+    }
+
+    public Duration getDeferDelay() {
+        return deferDelay;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, retryAfter.toSeconds());
+    }
+
+    public synchronized void recordDbLatency(long nanos) {
+        double sampleMs = nanos / 1_000_000.0;
+        dbLatencyMs = dbLatencyMs == 0 ? sampleMs : LATENCY_ALPHA * sampleMs + (1 - LATENCY_ALPHA) * dbLatencyMs;
+        lastLatencySampleAt = System.currentTimeMillis();
+    }
+
+    public Evaluation evaluate() {
+        if (!enabled) {
+            return lastEvaluation;
+        }
+        long now = System.currentTimeMillis();
+        Evaluation current = lastEvaluation;
+        if (now - current.evaluatedAt() < evaluationIntervalMs) {
+            return current;
+        }
+
+        int backlog = fanoutBacklog();
+        double queueUtilization = queueUtilization();
+        double poolSaturation = poolSaturation();
+        double pendingConnections = sumGauges("hikaricp.connections.pending");
+        double latency = dbLatencyMs();
+
+        Evaluation evaluation;
+        if (backlog >= rejectBacklog) {
+            evaluation = new Evaluation(Admission.REJECT, "FANOUT_BACKLOG", now);
+        } else if (queueUtilization >= rejectQueueUtilization) {
+            evaluation = new Evaluation(Admission.REJECT, "FANOUT_QUEUE_FULL", now);
+        } else if (pendingConnections >= rejectPendingConnections) {
+            evaluation = new Evaluation(Admission.REJECT, "CONNECTION_POOL_EXHAUSTED", now);
+        } else if (latency >= rejectDbLatencyMs) {
+            evaluation = new Evaluation(Admission.REJECT, "DB_LATENCY", now);
+        } else if (backlog >= deferBacklog) {
+            evaluation = new Evaluation(Admission.DEFER, "FANOUT_BACKLOG", now);
+        } else if (queueUtilization >= deferQueueUtilization) {
+            evaluation = new Evaluation(Admission.DEFER, "FANOUT_QUEUE", now);
+        } else if (poolSaturation >= deferPoolSaturation) {
+            evaluation = new Evaluation(Admission.DEFER, "CONNECTION_POOL_SATURATED", now);
+        } else if (latency >= deferDbLatencyMs) {
+            evaluation = new Evaluation(Admission.DEFER, "DB_LATENCY", now);
+        } else {
+            evaluation = new Evaluation(Admission.ADMIT, "OK", now);
+        }
+
+        if (evaluation.admission() != current.admission()) {
+            log.info("Admisión de posts cambia de {} a {} ({})", current.admission(), evaluation.admission(),
+                    evaluation.reason());
+        }
+        lastEvaluation = evaluation;
+        return evaluation;
+    }
+
+    private int fanoutBacklog() {
+        int pending = fanoutVisibilityTracker.countInFlight() - fanoutVisibilityTracker.countDeferred();
+        return Math.max(Math.max(pending, fanoutTaskExecutor.getQueueSize()), distributedBacklog());
+    }
+
+    private int distributedBacklog() {
+        if (fanoutWorkQueue == null) {
+            return 0;
+        }
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, fanoutWorkQueue.backlog());
+        } catch (RuntimeException e) {
+            log.warn("No se pudo leer el backlog de la cola de fanout distribuido: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private double queueUtilization() {
+        int capacity = fanoutTaskExecutor.getQueueCapacity();
+        return capacity > 0 ? (double) fanoutTaskExecutor.getQueueSize() / capacity : 0;
+    }
+
+    private double poolSaturation() {
+        return meterRegistry.find("hikaricp.connections.active").gauges().stream()
+                .filter(active -> active.getId().getTag("pool") != null)
+                .mapToDouble(active -> {
+                    Gauge max = meterRegistry.find("hikaricp.connections.max")
+                            .tag("pool", active.getId().getTag("pool"))
+                            .gauge();
+                    return max != null && max.value() > 0 ? active.value() / max.value() : 0;
+                })
+                .max()
+                .orElse(0);
+    }
+
+    private double sumGauges(String name) {
+        return meterRegistry.find(name).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private synchronized double dbLatencyMs() {
+        if (System.currentTimeMillis() - lastLatencySampleAt > retryAfter.toMillis()) {
+            dbLatencyMs = 0;
+        }
+        return dbLatencyMs;
+    }
+
+    private void registerLimit(String name, double value) {
+        Gauge.builder("feed.admission.limit", () -> value)
+                .description("Límites configurados del control de admisión")
+                .tag("limit", name)
+                .register(meterRegistry);
+    }
+
+    public enum Admission {
+        ADMIT, DEFER, REJECT
+    }
+
+    public record Evaluation(Admission admission, String reason, long evaluatedAt) {
+
+        public boolean rejected() {
+            return admission == Admission.REJECT;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.entity.Post;
+import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostDeactivatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
+import com.example.feed.repository.FollowRepository;
+import com.example.feed.repository.PostRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over post content. Each term maps to a posting list of
+ * {@code (postId, authorId)} pairs sorted by post id and stored as varint-encoded deltas, so a
+ * search decodes the shortest list filtered by the caller's followees and intersects the rest
+ * without touching {@code posts} until the final page is hydrated. The index is built off to the
+ * side from active posts at startup, with posts created meanwhile buffered and folded in before it
+ * is swapped in, and kept current from post creation and deactivation events. Posts created through
+ * other instances raise no local event, so every {@code feed.search.catch-up-interval} a keyset scan
+ * picks up active posts above the last scanned id; each scan restarts below the previous one's
+ * range to catch posts whose ids committed out of order, skipping ids already indexed since the last
+ * run. Deactivated posts are filtered at query time and dropped from the posting lists once
+ * {@code feed.search.prune-threshold} of them accumulate.
+ */
+@Service
+public class PostSearchIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndex.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final TaskExecutor prewarmTaskExecutor;
+    private final Set<Long> deactivated = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private final Object bootstrapLock = new Object();
+    private final Timer searchTimer;
+
+    private volatile Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private volatile Set<Long> indexedSinceCatchUp = ConcurrentHashMap.newKeySet();
+    private volatile long catchUpFrom = -1;
+    private long catchUpHighWater;
+    private List<PendingPost> bufferedDuringBootstrap;
+
+    private final boolean enabled;
+    private final int minTermLength;
+    private final int maxResults;
+    private final int bootstrapBatchSize;
+    private final int pruneThreshold;
+
+    public PostSearchIndex(PostRepository postRepository,
+            FollowRepository followRepository,
+            @Qualifier("prewarmTaskExecutor") TaskExecutor prewarmTaskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${feed.search.enabled:true}") boolean enabled,
+            @Value("${feed.search.min-term-length:2}") int minTermLength,
+            @Value("${feed.search.max-results:50}") int maxResults,
+            @Value("${feed.search.bootstrap-batch-size:1000}") int bootstrapBatchSize,
+            @Value("${feed.search.prune-threshold:1000}") int pruneThreshold) {
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.prewarmTaskExecutor = prewarmTaskExecutor;
+        this.enabled = enabled;
+        this.minTermLength = minTermLength;
+        this.maxResults = maxResults;
+        this.bootstrapBatchSize = bootstrapBatchSize;
+        this.pruneThreshold = pruneThreshold;
+        this.bufferedDuringBootstrap = enabled ? new ArrayList<>() : null;
+        this.searchTimer = Timer.builder("feed.search.latency")
+                .description("Tiempo de búsqueda de posts en la red del usuario")
+                .register(meterRegistry);
+        Gauge.builder("feed.search.terms", this, index -> index.postings.size())
+                .description("Términos distintos en el índice de búsqueda")
+                .register(meterRegistry);
+        Gauge.builder("feed.search.index.bytes", this, PostSearchIndex::encodedBytes)
+                .description("Tamaño de las listas de posts comprimidas del índice de búsqueda")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        prewarmTaskExecutor.execute(this::bootstrap);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        index(event.getPostId(), event.getAuthorId(), event.getContent());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsBatchCreated(PostsBatchCreatedEvent event) {
+        event.getPosts().forEach(post -> index(post.getPostId(), event.getAuthorId(), post.getContent()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeactivated(PostDeactivatedEvent event) {
+        deactivated.add(event.getPostId());
+        if (deactivated.size() >= pruneThreshold && pruning.compareAndSet(false, true)) {
+            prewarmTaskExecutor.execute(this::pruneDeactivated);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${feed.search.catch-up-interval:PT30S}")
+    public void catchUp() {
+        long from = catchUpFrom;
+        if (!enabled || from < 0) {
+            return;
+        }
+
+        Set<Long> alreadyIndexed = indexedSinceCatchUp;
+        Set<Long> scanned = ConcurrentHashMap.newKeySet();
+        indexedSinceCatchUp = scanned;
+        long lastId = from;
+        int added = 0;
+        try {
+            List<Post> batch;
+            do {
+                batch = postRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                        PageRequest.of(0, bootstrapBatchSize));
+                for (Post post : batch) {
+                    scanned.add(post.getId());
+                    if (!alreadyIndexed.contains(post.getId())) {
+                        indexInto(postings, post.getId(), post.getUserId(), post.getContent());
+                        added++;
+                    }
+                    lastId = post.getId();
+                }
+            } while (batch.size() == bootstrapBatchSize);
+        } catch (RuntimeException e) {
+            scanned.addAll(alreadyIndexed);
+            log.error("Error poniendo al día el índice de búsqueda desde el post {}", from, e);
+            return;
+        }
+
+        catchUpFrom = catchUpHighWater;
+        catchUpHighWater = Math.max(catchUpHighWater, lastId);
+        if (added > 0) {
+            log.info("{} posts de otras instancias añadidos al índice de búsqueda", added);
+        }
+    }
+
+    public List<FeedItemDTO> search(Long userId, String query, int limit) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "La búsqueda de posts está deshabilitada");
+        }
+        return searchTimer.record(() -> doSearch(userId, query, Math.max(1, Math.min(limit, maxResults))));
+    }
+
+    private List<FeedItemDTO> doSearch(Long userId, String query, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La consulta debe contener al menos un término de " + minTermLength + " caracteres");
+        }
+
+        Map<String, PostingList> current = postings;
+        List<PostingList> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            PostingList list = current.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        Set<Long> followeeIds = new HashSet<>(followRepository.findFolloweeIds(userId));
+        if (followeeIds.isEmpty()) {
+            return List.of();
+        }
+
+        long[] candidates = lists.get(0).decodeFiltered(followeeIds);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i).decodePostIds());
+        }
+
+        List<Long> newest = new ArrayList<>(limit);
+        for (int i = candidates.length - 1; i >= 0 && newest.size() < limit; i--) {
+            if (!deactivated.contains(candidates[i])) {
+                newest.add(candidates[i]);
+            }
+        }
+        if (newest.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> posts = postRepository.findAllById(newest).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return newest.stream()
+                .map(posts::get)
+                .filter(post -> post != null && Boolean.TRUE.equals(post.getIsActive()))
+                .map(post -> new FeedItemDTO(
+                        post.getId(),
+                        post.getUserId(),
+                        post.getContent(),
+                        post.getCreatedAt(),
+                        false))
+                .toList();
+    }
+
+    private void bootstrap() {
+        long startTime = System.currentTimeMillis();
+        Map<String, PostingList> building = new ConcurrentHashMap<>();
+        long lastId = 0;
+        int indexed = 0;
+        try {
+            List<Post> batch;
+            do {
+                batch = postRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                        PageRequest.of(0, bootstrapBatchSize));
+                for (Post post : batch) {
+                    indexInto(building, post.getId(), post.getUserId(), post.getContent());
+                    lastId = post.getId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == bootstrapBatchSize);
+            log.info("Índice de búsqueda construido en {} ms - {} posts y {} términos",
+                    System.currentTimeMillis() - startTime, indexed, building.size());
+        } catch (RuntimeException e) {
+            log.error("Error construyendo el índice de búsqueda tras {} posts", indexed, e);
+        } finally {
+            synchronized (bootstrapLock) {
+                for (PendingPost pending : bufferedDuringBootstrap) {
+                    indexInto(building, pending.postId(), pending.authorId(), pending.content());
+                }
+                log.info("{} posts creados durante la construcción añadidos al índice", bufferedDuringBootstrap.size());
+                postings = building;
+                bufferedDuringBootstrap = null;
+                catchUpHighWater = lastId;
+                catchUpFrom = lastId;
+            }
+        }
+    }
+
+    private void pruneDeactivated() {
+        try {
+            Set<Long> pruned = Set.copyOf(deactivated);
+            synchronized (bootstrapLock) {
+                if (bufferedDuringBootstrap != null) {
+                    return;
+                }
+            }
+            int removed = 0;
+            for (PostingList list : postings.values()) {
+                removed += list.removeAll(pruned);
+            }
+            deactivated.removeAll(pruned);
+            log.info("Eliminados {} posts desactivados del índice de búsqueda ({} entradas)", pruned.size(), removed);
+        } catch (RuntimeException e) {
+            log.error("Error eliminando posts desactivados del índice de búsqueda", e);
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private void index(Long postId, Long authorId, String content) {
+        if (!enabled || postId == null || authorId == null) {
+            return;
+        }
+        indexedSinceCatchUp.add(postId);
+        synchronized (bootstrapLock) {
+            if (bufferedDuringBootstrap != null) {
+                bufferedDuringBootstrap.add(new PendingPost(postId, authorId, content));
+                return;
+            }
+        }
+        indexInto(postings, postId, authorId, content);
+    }
+
+    private void indexInto(Map<String, PostingList> target, Long postId, Long authorId, String content) {
+        for (String term : tokenize(content)) {
+            target.computeIfAbsent(term, t -> new PostingList()).add(postId, authorId);
+        }
+    }
+
+    private Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : NON_WORD.split(normalized)) {
+            if (token.length() >= minTermLength) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private long encodedBytes() {
+        return postings.values().stream().mapToLong(PostingList::encodedBytes).sum();
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private record PendingPost(Long postId, Long authorId, String content) {
+    }
+
+    /**
+     * Posting list of {@code (postId, authorId)} pairs ordered by post id, encoded as
+     * {@code varint(postId - previousPostId), varint(authorId)}.
+     */
+    static final class PostingList {
+        private byte[] bytes = new byte[16];
+        private int length;
+        private int readOffset;
+        private int size;
+        private long lastPostId;
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long encodedBytes() {
+            return length;
+        }
+
+        synchronized void add(long postId, long authorId) {
+            if (postId > lastPostId) {
+                append(postId, authorId);
+                return;
+            }
+
+            long[] postIds = new long[size];
+            long[] authorIds = new long[size];
+            decode(postIds, authorIds);
+            int position = Arrays.binarySearch(postIds, postId);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            length = 0;
+            size = 0;
+            lastPostId = 0;
+            for (int i = 0; i < postIds.length; i++) {
+                if (i == insertAt) {
+                    append(postId, authorId);
+                }
+                append(postIds[i], authorIds[i]);
+            }
+        }
+
+        synchronized int removeAll(Set<Long> postIdsToRemove) {
+            long[] postIds = new long[size];
+            long[] authorIds = new long[size];
+            decode(postIds, authorIds);
+            length = 0;
+            size = 0;
+            lastPostId = 0;
+            int removed = 0;
+            for (int i = 0; i < postIds.length; i++) {
+                if (postIdsToRemove.contains(postIds[i])) {
+                    removed++;
+                } else {
+                    append(postIds[i], authorIds[i]);
+                }
+            }
+            return removed;
+        }
+
+        synchronized long[] decodePostIds() {
+            long[] postIds = new long[size];
+            decode(postIds, null);
+            return postIds;
+        }
+
+        synchronized long[] decodeFiltered(Set<Long> authorIds) {
+            long[] postIds = new long[size];
+            int n = 0;
+            long postId = 0;
+            readOffset = 0;
+            for (int i = 0; i < size; i++) {
+                postId += readVarint();
+                if (authorIds.contains(readVarint())) {
+                    postIds[n++] = postId;
+                }
+            }
+            return Arrays.copyOf(postIds, n);
+        }
+
+        private void decode(long[] postIds, long[] authorIds) {
+            long postId = 0;
+            readOffset = 0;
+            for (int i = 0; i < size; i++) {
+                postId += readVarint();
+                long authorId = readVarint();
+                postIds[i] = postId;
+                if (authorIds != null) {
+                    authorIds[i] = authorId;
+                }
+            }
+        }
+
+        private void append(long postId, long authorId) {
+            writeVarint(postId - lastPostId);
+            writeVarint(authorId);
+            lastPostId = postId;
+            size++;
+        }
+
+        private void writeVarint(long value) {
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[readOffset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.model.AuthorAffinity;
+import com.example.feed.model.PostEngagement;
+import com.example.feed.repository.LikeRepository;
+import com.example.feed.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks the newest {@code feed.ranking.candidate-window} items of a user's materialized timeline by
+ * recency decay, affinity to the author (the user's recent likes of that author's posts) and
+ * engagement (likes). Only the top {@code (page + 1) * size} candidates are kept, in a bounded
+ * min-heap, so a page costs O(n log k) instead of sorting the whole window. Ranked pages are
+ * cached in {@code rankedFeeds} for a short TTL.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RankedTimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankedTimelineService.class);
+
+    private final TimelineStore timelineStore;
+    private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
+    private final LikeService likeService;
+    private final Timer rankingTimer;
+
+    private final int candidateWindow;
+    private final double halfLifeHours;
+    private final double recencyWeight;
+    private final double affinityWeight;
+    private final double engagementWeight;
+    private final Duration affinityPeriod;
+    private final long latencyBudgetNanos;
+
+    public RankedTimelineService(TimelineStore timelineStore,
+            PostRepository postRepository,
+            LikeRepository likeRepository,
+            LikeService likeService,
+            MeterRegistry meterRegistry,
+            @Value("${feed.ranking.candidate-window:500}") int candidateWindow,
+            @Value("${feed.ranking.half-life:PT6H}") Duration halfLife,
+            @Value("${feed.ranking.recency-weight:1.0}") double recencyWeight,
+            @Value("${feed.ranking.affinity-weight:0.5}") double affinityWeight,
+            @Value("${feed.ranking.engagement-weight:0.3}") double engagementWeight,
+            @Value("${feed.ranking.affinity-period:P30D}") Duration affinityPeriod,
+            @Value("${feed.ranking.latency-budget:PT0.05S}") Duration latencyBudget) {
+        this.timelineStore = timelineStore;
+        this.postRepository = postRepository;
+        this.likeRepository = likeRepository;
+        this.likeService = likeService;
+        this.candidateWindow = candidateWindow;
+        this.halfLifeHours = Math.max(1, halfLife.toMinutes()) / 60.0;
+        this.recencyWeight = recencyWeight;
+        this.affinityWeight = affinityWeight;
+        this.engagementWeight = engagementWeight;
+        this.affinityPeriod = affinityPeriod;
+        this.latencyBudgetNanos = latencyBudget.toNanos();
+        this.rankingTimer = Timer.builder("feed.ranking.latency")
+                .description("Tiempo de ranking de una página del timeline")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .serviceLevelObjectives(latencyBudget)
+                .register(meterRegistry);
+    }
+
+    @Cacheable(value = "rankedFeeds", key = "#userId + '_' + #page + '_' + #size")
+    public Page<FeedItemDTO> getRankedFeed(Long userId, int page, int size) {
+        long startTime = System.nanoTime();
+        int k = Math.min((page + 1) * size, candidateWindow);
+
+        List<FeedItemDTO> candidates = timelineStore.readLatest(userId, candidateWindow);
+        List<FeedItemDTO> ranked = candidates.isEmpty() ? List.of() : rank(userId, candidates, k);
+        List<FeedItemDTO> pageItems = new ArrayList<>(ranked.subList(Math.min(page * size, ranked.size()), ranked.size()));
+
+        long elapsed = System.nanoTime() - startTime;
+        rankingTimer.record(Duration.ofNanos(elapsed));
+        if (elapsed > latencyBudgetNanos) {
+            log.warn("Ranking del timeline del usuario {} excedió el presupuesto: {} ms para {} candidatos",
+                    userId, elapsed / 1_000_000, candidates.size());
+        }
+
+        return new PageImpl<>(pageItems, PageRequest.of(page, size), candidates.size());
+    }
+
+    List<FeedItemDTO> rank(Long userId, List<FeedItemDTO> candidates, int k) {
+        List<Long> postIds = candidates.stream().map(FeedItemDTO::getPostId).toList();
+        Map<Long, Long> likesByPost = postRepository.findEngagementByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostEngagement::postId,
+                        engagement -> likeService.currentLikesCount(engagement.postId(), engagement.likesCount())));
+        Map<Long, Long> affinityByAuthor = likeRepository
+                .findAuthorAffinity(userId, LocalDateTime.now().minus(affinityPeriod)).stream()
+                .collect(Collectors.toMap(AuthorAffinity::authorId, AuthorAffinity::likes));
+
+        long now = System.currentTimeMillis();
+        PriorityQueue<Scored> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Scored::score));
+        for (FeedItemDTO item : candidates) {
+            double score = score(item, now, likesByPost.getOrDefault(item.getPostId(), 0L),
+                    affinityByAuthor.getOrDefault(item.getAuthorId(), 0L));
+            if (heap.size() < k) {
+                heap.offer(new Scored(item, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.offer(new Scored(item, score));
+            }
+        }
+
+        List<FeedItemDTO> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll().item());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private double score(FeedItemDTO item, long now, long likes, long affinity) {
+        double ageHours = item.getCreatedAt() == null ? 0
+                : Math.max(0, now - item.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                        / 3_600_000.0;
+        double recency = Math.pow(0.5, ageHours / halfLifeHours);
+        return recencyWeight * recency
+                + affinityWeight * Math.log1p(affinity)
+                + engagementWeight * Math.log1p(likes);
+    }
+
+    private record Scored(FeedItemDTO item, double score) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.feed.service;
+
+import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostDeactivatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
+import com.example.feed.model.TimelineEntry;
+import com.example.feed.repository.PostBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the last {@code feed.recent-posts.capacity} active posts of recently seen authors in memory
+ * as (postId, epochMillis) ring buffers, so pull reads and follow backfill only go to the database
+ * for older history. Rings are seeded in one query per read for authors not yet buffered, appended
+ * to on post creation and dropped when one of the author's posts is deactivated. Posts created through
+ * other instances never reach this buffer, so a ring is re-seeded once it is older than
+ * {@code feed.recent-posts.ttl}, which should not exceed {@code feed.etag.max-staleness}.
+ */
+@Service
+public class RecentPostsBuffer {
+
+    private final PostBatchRepository postBatchRepository;
+    private final Map<Long, AuthorRing> rings;
+    private final Counter hits;
+    private final Counter misses;
+    private final int capacity;
+    private final long ttlMs;
+
+    public RecentPostsBuffer(PostBatchRepository postBatchRepository,
+            MeterRegistry meterRegistry,
+            @Value("${feed.recent-posts.capacity:50}") int capacity,
+            @Value("${feed.recent-posts.max-authors:100000}") int maxAuthors,
+            @Value("${feed.recent-posts.ttl:PT1M}") Duration ttl) {
+        this.postBatchRepository = postBatchRepository;
+        this.capacity = capacity;
+        this.ttlMs = ttl.toMillis();
+        this.rings = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, AuthorRing> eldest) {
+                return size() > maxAuthors;
+            }
+        });
+        this.hits = Counter.builder("feed.recent-posts.reads")
+                .description("Lecturas de posts recientes por autor servidas desde memoria")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("feed.recent-posts.reads")
+                .description("Lecturas de posts recientes por autor que requieren la base de datos")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("feed.recent-posts.authors", rings, Map::size)
+                .description("Autores con posts recientes en memoria")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        append(event.getAuthorId(), event.getPostId(), event.getCreatedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsBatchCreated(PostsBatchCreatedEvent event) {
+        event.getPosts().forEach(post -> append(event.getAuthorId(), post.getPostId(), post.getCreatedAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeactivated(PostDeactivatedEvent event) {
+        rings.remove(event.getAuthorId());
+    }
+
+    /**
+     * Returns, for each author whose ring can answer it, up to {@code limit} newest entries. Authors
+     * missing from the result have more than the buffered history and must be read from the database.
+     */
+    public Map<Long, List<TimelineEntry>> latest(Collection<Long> authorIds, int limit) {
+        Map<Long, AuthorRing> seeded = seededRings(authorIds);
+        Map<Long, List<TimelineEntry>> result = new HashMap<>(seeded.size());
+        seeded.forEach((authorId, ring) -> {
+            List<TimelineEntry> entries = ring.latest(authorId, limit);
+            if (entries != null) {
+                result.put(authorId, entries);
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        });
+        return result;
+    }
+
+    public RecentPosts snapshot(Long authorId) {
+        AuthorRing ring = seededRings(List.of(authorId)).get(authorId);
+        return ring.snapshot(authorId);
+    }
+
+    private void append(Long authorId, Long postId, LocalDateTime createdAt) {
+        if (authorId == null || postId == null) {
+            return;
+        }
+        long epochMillis = (createdAt != null ? createdAt : LocalDateTime.now())
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        rings.computeIfAbsent(authorId, id -> new AuthorRing(capacity)).append(postId, epochMillis);
+    }
+
+    private Map<Long, AuthorRing> seededRings(Collection<Long> authorIds) {
+        Map<Long, AuthorRing> result = new HashMap<>(authorIds.size());
+        List<Long> unseeded = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Long authorId : authorIds) {
+            AuthorRing ring = rings.compute(authorId,
+                    (id, current) -> current == null || current.isExpired(now, ttlMs) ? new AuthorRing(capacity) : current);
+            result.put(authorId, ring);
+            if (!ring.isSeeded()) {
+                unseeded.add(authorId);
+            }
+        }
+
+        if (!unseeded.isEmpty()) {
+            Map<Long, List<TimelineEntry>> loaded = postBatchRepository.findLatestByAuthors(unseeded, capacity)
+                    .stream()
+                    .collect(Collectors.groupingBy(TimelineEntry::authorId));
+            unseeded.forEach(authorId -> result.get(authorId).seed(loaded.getOrDefault(authorId, List.of()), now));
+        }
+        return result;
+    }
+
+    public record RecentPosts(List<TimelineEntry> entries, boolean complete) {
+    }
+
+    private static final class AuthorRing {
+        private final long[] postIds;
+        private final long[] epochMillis;
+        private int newest = -1;
+        private int count;
+        private boolean seeded;
+        private boolean complete;
+        private long seededAt;
+
+        AuthorRing(int capacity) {
+            this.postIds = new long[capacity];
+            this.epochMillis = new long[capacity];
+        }
+
+        synchronized boolean isSeeded() {
+            return seeded;
+        }
+
+        synchronized boolean isExpired(long now, long ttlMs) {
+            return seeded && now - seededAt >= ttlMs;
+        }
+
+        synchronized void append(long postId, long millis) {
+            for (int i = 0; i < count; i++) {
+                if (postIds[index(i)] == postId) {
+                    return;
+                }
+            }
+            if (count == postIds.length) {
+                complete = false;
+            } else {
+                count++;
+            }
+            newest = (newest + 1) % postIds.length;
+            postIds[newest] = postId;
+            epochMillis[newest] = millis;
+        }
+
+        synchronized void seed(List<TimelineEntry> newestFirst, long now) {
+            if (seeded) {
+                return;
+            }
+            List<TimelineEntry> appended = entries(0L);
+            newest = -1;
+            count = 0;
+            for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                append(newestFirst.get(i).postId(), newestFirst.get(i).epochMillis());
+            }
+            for (int i = appended.size() - 1; i >= 0; i--) {
+                append(appended.get(i).postId(), appended.get(i).epochMillis());
+            }
+            seeded = true;
+            seededAt = now;
+            complete = newestFirst.size() < postIds.length && count < postIds.length;
+        }
+
+        synchronized List<TimelineEntry> latest(long authorId, int limit) {
+            if (count < limit && !complete) {
+                return null;
+            }
+            List<TimelineEntry> entries = entries(authorId);
+            return entries.size() > limit ? entries.subList(0, limit) : entries;
+        }
+
+        synchronized RecentPosts snapshot(long authorId) {
+            return new RecentPosts(entries(authorId), complete);
+        }
+
+        private List<TimelineEntry> entries(long authorId) {
+            List<TimelineEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int slot = index(i);
+                entries.add(new TimelineEntry(postIds[slot], authorId, epochMillis[slot]));
+            }
+            entries.sort((a, b) -> a.epochMillis() != b.epochMillis()
+                    ? Long.compare(b.epochMillis(), a.epochMillis())
+                    : Long.compare(b.postId(), a.postId()));
+            return entries;
+        }
+
+        private int index(int offsetFromNewest) {
+            return Math.floorMod(newest - offsetFromNewest, postIds.length);
+        }
+    }
+}
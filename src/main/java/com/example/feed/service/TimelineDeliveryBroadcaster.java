@@ -0,0 +1,88 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.event.FeedItemsDeliveredEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * Relays {@link FeedItemsDeliveredEvent}s between instances over Redis pub/sub, so SSE streams,
+ * delta markers and timeline versions held by one instance see items delivered by another (the
+ * fan-out of a post usually runs elsewhere, especially in distributed mode). Local deliveries are
+ * published once committed; received ones are republished locally as remote events, which are
+ * never relayed again, and an instance ignores its own messages.
+ */
+@Component
+@ConditionalOnProperty(prefix = "feed.delivery.broadcast", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TimelineDeliveryBroadcaster implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineDeliveryBroadcaster.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+
+    public TimelineDeliveryBroadcaster(StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${feed.delivery.broadcast.channel:feed:delivered}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedItemsDelivered(FeedItemsDeliveredEvent event) {
+        if (event.isRemote() || event.getRecipientIds().isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(new Delivery(instanceId,
+                    event.getAuthorId(), event.getRecipientIds(), event.getItems(), event.isBackfill())));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("No se pudo difundir la entrega de {} items del usuario {} a otras instancias: {}",
+                    event.getItems().size(), event.getAuthorId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Delivery delivery;
+        try {
+            delivery = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), Delivery.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Entrega difundida ilegible en el canal {}, se descarta", channel, e);
+            return;
+        }
+        if (instanceId.equals(delivery.origin())) {
+            return;
+        }
+        eventPublisher.publishEvent(new FeedItemsDeliveredEvent(delivery.authorId(), delivery.recipientIds(),
+                delivery.items(), delivery.backfill(), true));
+    }
+
+    private record Delivery(String origin, Long authorId, List<Long> recipientIds, List<FeedItemDTO> items,
+            boolean backfill) {
+    }
+}
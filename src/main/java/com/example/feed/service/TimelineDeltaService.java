@@ -0,0 +1,241 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.dto.TimelineDeltaDTO;
+import com.example.feed.event.FeedItemsDeliveredEvent;
+import com.example.feed.model.TimelineCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers "anything new since this cursor?" for a user's timeline. Each instance keeps the newest
+ * item it knows of per user, advanced by fanout on this instance and re-verified against the store
+ * every {@code feed.delta.marker-ttl}, so a refresh with an up-to-date cursor does not touch
+ * Postgres or Redis. Markers are kept for the {@code feed.delta.max-tracked-users} most recently
+ * active users. Requests may long-poll until fanout delivers something or the wait expires.
+ */
+@Service
+public class TimelineDeltaService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineDeltaService.class);
+
+    private final TimelineStore timelineStore;
+    private final Map<Long, Marker> markers;
+    private final Map<Long, Set<Waiter>> waitersByUser = new ConcurrentHashMap<>();
+    private final ExecutorService deltaExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter answeredFromMarker;
+    private final Counter answeredFromStore;
+
+    private final long markerTtlMs;
+    private final long maxWaitMs;
+    private final int maxItems;
+
+    public TimelineDeltaService(TimelineStore timelineStore,
+            MeterRegistry meterRegistry,
+            @Value("${feed.delta.marker-ttl:PT1M}") Duration markerTtl,
+            @Value("${feed.delta.max-wait:PT25S}") Duration maxWait,
+            @Value("${feed.delta.max-items:100}") int maxItems,
+            @Value("${feed.delta.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.timelineStore = timelineStore;
+        this.markers = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Marker> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        });
+        this.markerTtlMs = markerTtl.toMillis();
+        this.maxWaitMs = maxWait.toMillis();
+        this.maxItems = maxItems;
+        this.answeredFromMarker = Counter.builder("feed.delta.requests")
+                .tag("answer", "marker")
+                .description("Consultas de novedades del timeline respondidas desde memoria")
+                .register(meterRegistry);
+        this.answeredFromStore = Counter.builder("feed.delta.requests")
+                .tag("answer", "store")
+                .description("Consultas de novedades del timeline que leyeron el almacenamiento")
+                .register(meterRegistry);
+    }
+
+    public DeferredResult<TimelineDeltaDTO> getDelta(Long userId, String since, long waitMs, int limit) {
+        TimelineCursor cursor = parseCursor(since);
+        int boundedLimit = Math.max(1, Math.min(limit, maxItems));
+        long boundedWaitMs = Math.max(0, Math.min(waitMs, maxWaitMs));
+
+        DeferredResult<TimelineDeltaDTO> result = new DeferredResult<>(boundedWaitMs > 0 ? boundedWaitMs : null);
+        Latest lookup = latestFor(userId);
+        TimelineCursor latest = lookup.cursor();
+
+        if (latest.isNewerThan(cursor)) {
+            answeredFromStore.increment();
+            result.setResult(readDelta(userId, cursor, boundedLimit, latest));
+            return result;
+        }
+
+        (lookup.fromStore() ? answeredFromStore : answeredFromMarker).increment();
+        if (boundedWaitMs == 0) {
+            result.setResult(TimelineDeltaDTO.nothingNew(cursor.toString()));
+            return result;
+        }
+
+        Waiter waiter = new Waiter(cursor, boundedLimit, result);
+        waitersByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+        result.onTimeout(() -> result.setResult(TimelineDeltaDTO.nothingNew(cursor.toString())));
+        result.onCompletion(() -> removeWaiter(userId, waiter));
+
+        Marker marker = markers.get(userId);
+        TimelineCursor current = marker != null ? marker.cursor() : latest;
+        if (current.isNewerThan(cursor)) {
+            wake(userId, waiter, current);
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onFeedItemsDelivered(FeedItemsDeliveredEvent event) {
+        TimelineCursor newest = event.getItems().stream()
+                .filter(item -> item.getCreatedAt() != null)
+                .map(item -> TimelineCursor.of(item.getCreatedAt(), item.getPostId()))
+                .max(TimelineCursor::compareTo)
+                .orElse(null);
+        if (newest == null) {
+            return;
+        }
+
+        for (Long recipientId : event.getRecipientIds()) {
+            Marker marker = markers.computeIfPresent(recipientId, (userId, current) -> current.advance(newest));
+            Set<Waiter> waiters = waitersByUser.get(recipientId);
+            if (marker == null || waiters == null) {
+                continue;
+            }
+            for (Waiter waiter : waiters) {
+                if (marker.cursor().isNewerThan(waiter.cursor())) {
+                    wake(recipientId, waiter, marker.cursor());
+                }
+            }
+        }
+    }
+
+    public int countWaiters() {
+        return waitersByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        waitersByUser.values().forEach(waiters -> waiters.forEach(waiter ->
+                waiter.result().setResult(TimelineDeltaDTO.nothingNew(waiter.cursor().toString()))));
+        deltaExecutor.shutdownNow();
+    }
+
+    private Latest latestFor(Long userId) {
+        long now = System.currentTimeMillis();
+        Marker marker = markers.get(userId);
+        if (marker != null && now - marker.verifiedAt() < markerTtlMs) {
+            return new Latest(marker.cursor(), false);
+        }
+
+        TimelineCursor stored = timelineStore.findLatestCursor(userId).orElse(TimelineCursor.EMPTY);
+        return new Latest(markers.merge(userId, new Marker(stored, now), Marker::reverify).cursor(), true);
+    }
+
+    private TimelineDeltaDTO readDelta(Long userId, TimelineCursor cursor, int limit, TimelineCursor latest) {
+        List<FeedItemDTO> items = timelineStore.readNewerThan(userId, cursor, limit);
+        if (items.isEmpty()) {
+            return TimelineDeltaDTO.nothingNew(latest.toString());
+        }
+        FeedItemDTO newest = items.get(0);
+        return new TimelineDeltaDTO(true, items, TimelineCursor.of(newest.getCreatedAt(), newest.getPostId()).toString());
+    }
+
+    private void wake(Long userId, Waiter waiter, TimelineCursor latest) {
+        if (!waiter.claim()) {
+            return;
+        }
+        removeWaiter(userId, waiter);
+        deltaExecutor.execute(() -> {
+            try {
+                waiter.result().setResult(readDelta(userId, waiter.cursor(), waiter.limit(), latest));
+            } catch (Exception e) {
+                log.error("Error obteniendo novedades del timeline para usuario {}", userId, e);
+                waiter.result().setErrorResult(e);
+            }
+        });
+    }
+
+    private void removeWaiter(Long userId, Waiter waiter) {
+        waitersByUser.computeIfPresent(userId, (id, waiters) -> {
+            waiters.remove(waiter);
+            return waiters.isEmpty() ? null : waiters;
+        });
+    }
+
+    private static TimelineCursor parseCursor(String since) {
+        try {
+            return TimelineCursor.parse(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private record Latest(TimelineCursor cursor, boolean fromStore) {
+    }
+
+    private record Marker(TimelineCursor cursor, long verifiedAt) {
+
+        Marker advance(TimelineCursor candidate) {
+            return candidate.isNewerThan(cursor) ? new Marker(candidate, verifiedAt) : this;
+        }
+
+        Marker reverify(Marker stored) {
+            return new Marker(cursor.isNewerThan(stored.cursor()) ? cursor : stored.cursor(), stored.verifiedAt());
+        }
+    }
+
+    private static final class Waiter {
+        private final TimelineCursor cursor;
+        private final int limit;
+        private final DeferredResult<TimelineDeltaDTO> result;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Waiter(TimelineCursor cursor, int limit, DeferredResult<TimelineDeltaDTO> result) {
+            this.cursor = cursor;
+            this.limit = limit;
+            this.result = result;
+        }
+
+        TimelineCursor cursor() {
+            return cursor;
+        }
+
+        int limit() {
+            return limit;
+        }
+
+        DeferredResult<TimelineDeltaDTO> result() {
+            return result;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
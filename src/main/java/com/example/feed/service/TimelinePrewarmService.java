@@ -0,0 +1,153 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Warms the first timeline pages of a user, and the posts they reference, right after login.
+ * Requests are deduplicated per user, rate limited per instance and run on their own
+ * low-priority executor so they never take threads from live traffic or fanout.
+ */
+@Service
+public class TimelinePrewarmService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelinePrewarmService.class);
+    private static final int RECENTLY_WARMED_PRUNE_THRESHOLD = 10_000;
+
+    private final FeedService feedService;
+    private final CacheManagementService cacheManagementService;
+    private final TaskExecutor prewarmTaskExecutor;
+
+    private final Set<Long> pendingUserIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> recentlyWarmed = new ConcurrentHashMap<>();
+    private final TokenBucket rateLimiter;
+
+    private final boolean enabled;
+    private final int pages;
+    private final int pageSize;
+    private final int postBatchSize;
+    private final long minIntervalMs;
+
+    public TimelinePrewarmService(FeedService feedService,
+            CacheManagementService cacheManagementService,
+            @Qualifier("prewarmTaskExecutor") TaskExecutor prewarmTaskExecutor,
+            @Value("${feed.prewarm.enabled:true}") boolean enabled,
+            @Value("${feed.prewarm.pages:1}") int pages,
+            @Value("${feed.prewarm.page-size:20}") int pageSize,
+            @Value("${feed.prewarm.post-batch-size:100}") int postBatchSize,
+            @Value("${feed.prewarm.min-interval:PT5M}") Duration minInterval,
+            @Value("${feed.prewarm.max-per-second:20}") double maxPerSecond) {
+        this.feedService = feedService;
+        this.cacheManagementService = cacheManagementService;
+        this.prewarmTaskExecutor = prewarmTaskExecutor;
+        this.enabled = enabled;
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.postBatchSize = postBatchSize;
+        this.minIntervalMs = minInterval.toMillis();
+        this.rateLimiter = new TokenBucket(maxPerSecond);
+    }
+
+    public boolean enqueue(Long userId) {
+        if (!enabled) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        Long lastWarmed = recentlyWarmed.get(userId);
+        if (lastWarmed != null && now - lastWarmed < minIntervalMs) {
+            log.debug("Feed del usuario {} precalentado recientemente, se omite", userId);
+            return false;
+        }
+
+        if (!pendingUserIds.add(userId)) {
+            log.debug("Precalentamiento del usuario {} ya encolado", userId);
+            return false;
+        }
+
+        if (!rateLimiter.tryAcquire()) {
+            pendingUserIds.remove(userId);
+            log.debug("Límite de precalentamientos alcanzado, se omite usuario {}", userId);
+            return false;
+        }
+
+        try {
+            prewarmTaskExecutor.execute(() -> prewarm(userId));
+            return true;
+        } catch (TaskRejectedException e) {
+            pendingUserIds.remove(userId);
+            log.warn("Cola de precalentamiento llena, se omite usuario {}", userId);
+            return false;
+        }
+    }
+
+    private void prewarm(Long userId) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Set<Long> postIds = new LinkedHashSet<>();
+            for (int page = 0; page < pages; page++) {
+                Page<FeedItemDTO> feed = feedService.getUserFeed(userId, page, pageSize);
+                feed.getContent().forEach(item -> postIds.add(item.getPostId()));
+                if (!feed.hasNext()) {
+                    break;
+                }
+            }
+
+            int warmedPosts = cacheManagementService.warmUpPostCache(postIds, postBatchSize);
+
+            log.info("Feed del usuario {} precalentado en {} ms ({} posts)",
+                    userId, System.currentTimeMillis() - startTime, warmedPosts);
+        } catch (Exception e) {
+            log.error("Error al precalentar feed del usuario {}", userId, e);
+        } finally {
+            pendingUserIds.remove(userId);
+            markWarmed(userId);
+        }
+    }
+
+    private void markWarmed(Long userId) {
+        long now = System.currentTimeMillis();
+        recentlyWarmed.put(userId, now);
+        if (recentlyWarmed.size() > RECENTLY_WARMED_PRUNE_THRESHOLD) {
+            recentlyWarmed.values().removeIf(warmedAt -> now - warmedAt >= minIntervalMs);
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double permitsPerSecond;
+        private final double capacity;
+        private double available;
+        private long lastRefillNanos;
+
+        TokenBucket(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.capacity = Math.max(1, permitsPerSecond);
+            this.available = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - lastRefillNanos) / 1_000_000_000.0 * permitsPerSecond);
+            lastRefillNanos = now;
+            if (available < 1) {
+                return false;
+            }
+            available--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.feed.service;
+
+import com.example.feed.event.UserReturnedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materializes the timeline of a user who comes back after being skipped by fanout for
+ * inactivity, copying followees' recent posts in one set-based statement. Until the rebuild
+ * finishes (or {@code feed.rebuild.timeout} passes) timeline reads for that user are served
+ * from the pull model.
+ */
+@Service
+public class TimelineRebuildService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineRebuildService.class);
+
+    private final TimelineStore timelineStore;
+    private final TimelinePrewarmService timelinePrewarmService;
+    private final TimelineVersionRegistry timelineVersionRegistry;
+    private final TaskExecutor fanoutTaskExecutor;
+    private final Map<Long, Long> rebuildingSince = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int maxItems;
+    private final long timeoutMs;
+
+    public TimelineRebuildService(TimelineStore timelineStore,
+            TimelinePrewarmService timelinePrewarmService,
+            TimelineVersionRegistry timelineVersionRegistry,
+            @Qualifier("fanoutTaskExecutor") TaskExecutor fanoutTaskExecutor,
+            @Value("${feed.rebuild.enabled:true}") boolean enabled,
+            @Value("${feed.rebuild.max-age:P30D}") Duration maxAge,
+            @Value("${feed.rebuild.max-items:1000}") int maxItems,
+            @Value("${feed.rebuild.timeout:PT2M}") Duration timeout) {
+        this.timelineStore = timelineStore;
+        this.timelinePrewarmService = timelinePrewarmService;
+        this.timelineVersionRegistry = timelineVersionRegistry;
+        this.fanoutTaskExecutor = fanoutTaskExecutor;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.maxItems = maxItems;
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserReturned(UserReturnedEvent event) {
+        if (!enabled) {
+            timelinePrewarmService.enqueue(event.getUserId());
+            return;
+        }
+
+        Long userId = event.getUserId();
+        if (rebuildingSince.putIfAbsent(userId, System.currentTimeMillis()) != null) {
+            log.debug("Reconstrucción del timeline del usuario {} ya en curso", userId);
+            return;
+        }
+
+        try {
+            fanoutTaskExecutor.execute(() -> rebuild(event));
+        } catch (TaskRejectedException e) {
+            rebuildingSince.remove(userId);
+            log.warn("Cola de fanout llena, no se pudo reconstruir el timeline del usuario {}", userId);
+        }
+    }
+
+    public boolean isRebuilding(Long userId) {
+        Long startedAt = rebuildingSince.get(userId);
+        if (startedAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - startedAt > timeoutMs) {
+            rebuildingSince.remove(userId, startedAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void rebuild(UserReturnedEvent event) {
+        Long userId = event.getUserId();
+        long startTime = System.currentTimeMillis();
+        LocalDateTime until = LocalDateTime.now();
+        LocalDateTime oldest = until.minus(maxAge);
+        LocalDateTime since = event.getPreviousLoginAt() != null && event.getPreviousLoginAt().isAfter(oldest)
+                ? event.getPreviousLoginAt()
+                : oldest;
+        try {
+            int inserted = timelineStore.rebuild(userId, since, until, maxItems);
+            log.info("Timeline del usuario {} reconstruido en {} ms - {} elementos desde {}",
+                    userId, System.currentTimeMillis() - startTime, inserted, since);
+        } catch (Exception e) {
+            log.error("Error reconstruyendo el timeline del usuario {}", userId, e);
+        } finally {
+            rebuildingSince.remove(userId);
+            timelineVersionRegistry.bump(userId);
+            timelinePrewarmService.enqueue(userId);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.listener.PostFanoutEventListener;
+import com.example.feed.repository.PostRepository;
+import com.example.feed.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses per request whether a user's timeline is served from the materialized (push) feed,
+ * the real-time (pull) query or a merge of both, based on follow count, freshness of the
+ * materialized feed and the latencies observed for each path. Routing inputs are cached per user
+ * for {@code feed.router.inputs-ttl}, and {@code feed.router.explore-rate} of the requests that
+ * could go either way take the other path so both latency estimates stay current.
+ */
+@Service
+public class TimelineRouterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineRouterService.class);
+
+    private final FeedService feedService;
+    private final NoFanoutFeedService noFanoutFeedService;
+    private final TimelineStore timelineStore;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final HotCacheKeyTracker hotCacheKeyTracker;
+    private final TimelineRebuildService timelineRebuildService;
+    private final Map<TimelineSource, LatencyEwma> observedLatencies = new EnumMap<>(TimelineSource.class);
+    private final Map<Long, RoutingInputs> inputsByUser;
+
+    private final long pullMaxFollows;
+    private final long pushMinFollows;
+    private final Duration maxMaterializedLag;
+    private final double pullLatencyTolerance;
+    private final int maxMergeWindow;
+    private final Duration inputsTtl;
+    private final double exploreRate;
+
+    public TimelineRouterService(FeedService feedService,
+            NoFanoutFeedService noFanoutFeedService,
+            TimelineStore timelineStore,
+            PostRepository postRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            HotCacheKeyTracker hotCacheKeyTracker,
+            TimelineRebuildService timelineRebuildService,
+            @Value("${feed.router.pull-max-follows:50}") long pullMaxFollows,
+            @Value("${feed.router.push-min-follows:200}") long pushMinFollows,
+            @Value("${feed.router.max-materialized-lag:PT2M}") Duration maxMaterializedLag,
+            @Value("${feed.router.pull-latency-tolerance:1.5}") double pullLatencyTolerance,
+            @Value("${feed.router.max-merge-window:500}") int maxMergeWindow,
+            @Value("${feed.router.inputs-ttl:PT30S}") Duration inputsTtl,
+            @Value("${feed.router.max-cached-users:100000}") int maxCachedUsers,
+            @Value("${feed.router.explore-rate:0.05}") double exploreRate) {
+        this.feedService = feedService;
+        this.noFanoutFeedService = noFanoutFeedService;
+        this.timelineStore = timelineStore;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.hotCacheKeyTracker = hotCacheKeyTracker;
+        this.timelineRebuildService = timelineRebuildService;
+        this.pullMaxFollows = pullMaxFollows;
+        this.pushMinFollows = pushMinFollows;
+        this.maxMaterializedLag = maxMaterializedLag;
+        this.pullLatencyTolerance = pullLatencyTolerance;
+        this.maxMergeWindow = maxMergeWindow;
+        this.inputsTtl = inputsTtl;
+        this.exploreRate = exploreRate;
+        this.inputsByUser = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoutingInputs> eldest) {
+                return size() > maxCachedUsers;
+            }
+        };
+        for (TimelineSource source : TimelineSource.values()) {
+            observedLatencies.put(source, new LatencyEwma());
+        }
+    }
+
+    public RoutedTimeline getTimeline(Long userId, int page, int size) {
+        RoutingDecision decision = decide(userId);
+
+        long startTime = System.nanoTime();
+        Page<FeedItemDTO> feed = switch (decision.source()) {
+            case PUSH -> {
+                hotCacheKeyTracker.recordTimelineRead(userId, page, size);
+                yield feedService.getUserFeed(userId, page, size);
+            }
+            case PULL -> noFanoutFeedService.getUserFeedPullModel(userId, page, size);
+            case MERGE -> getMergedFeed(userId, page, size);
+        };
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        observedLatencies.get(decision.source()).record(elapsedNanos / 1_000_000.0);
+        Timer.builder("feed.timeline.route")
+                .description("Latencia del timeline unificado por ruta elegida")
+                .tag("source", decision.source().name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsedNanos));
+
+        log.info("Timeline del usuario {} servido por {} ({}) en {} ms",
+                userId, decision.source(), decision.reason(), elapsedNanos / 1_000_000);
+
+        return new RoutedTimeline(feed, decision);
+    }
+
+    public RoutingDecision decide(Long userId) {
+        RoutingInputs inputs = inputs(userId);
+        long follows = inputs.follows();
+        double pushLatency = observedLatencies.get(TimelineSource.PUSH).value();
+        double pullLatency = observedLatencies.get(TimelineSource.PULL).value();
+
+        if (follows == 0) {
+            return new RoutingDecision(TimelineSource.PUSH, "NO_FOLLOWS", follows, null, pushLatency, pullLatency);
+        }
+
+        if (timelineRebuildService.isRebuilding(userId)) {
+            return new RoutingDecision(TimelineSource.PULL, "REBUILDING_TIMELINE", follows, null,
+                    pushLatency, pullLatency);
+        }
+
+        if (!inputs.fannedOut()) {
+            TimelineSource source = follows <= pullMaxFollows ? TimelineSource.PULL : TimelineSource.MERGE;
+            return new RoutingDecision(source, "INACTIVE_USER", follows, null,
+                    pushLatency, pullLatency);
+        }
+
+        if (follows >= pushMinFollows) {
+            return new RoutingDecision(TimelineSource.PUSH, "HIGH_FOLLOW_COUNT", follows, null,
+                    pushLatency, pullLatency);
+        }
+
+        boolean explore = false;
+        if (follows <= pullMaxFollows) {
+            boolean pullPreferred = pushLatency == 0 || pullLatency <= pushLatency * pullLatencyTolerance;
+            explore = ThreadLocalRandom.current().nextDouble() < exploreRate;
+            if (pullPreferred != explore) {
+                return new RoutingDecision(TimelineSource.PULL, explore ? "EXPLORE_PULL" : "LOW_FOLLOW_COUNT",
+                        follows, null, pushLatency, pullLatency);
+            }
+        }
+
+        long materializedLagMs = materializedLagMs(userId, inputs);
+        if (materializedLagMs > maxMaterializedLag.toMillis()) {
+            return new RoutingDecision(TimelineSource.MERGE, "STALE_MATERIALIZED_FEED", follows,
+                    materializedLagMs, pushLatency, pullLatency);
+        }
+
+        return new RoutingDecision(TimelineSource.PUSH, explore ? "EXPLORE_PUSH" : "FRESH_MATERIALIZED_FEED",
+                follows, materializedLagMs, pushLatency, pullLatency);
+    }
+
+    private RoutingInputs inputs(Long userId) {
+        long now = System.currentTimeMillis();
+        RoutingInputs cached;
+        synchronized (inputsByUser) {
+            cached = inputsByUser.get(userId);
+        }
+        if (cached != null && now - cached.computedAtMillis() < inputsTtl.toMillis()) {
+            return cached;
+        }
+
+        long follows = noFanoutFeedService.getComplexityStats(userId).usersFollowing();
+        boolean fannedOut = userRepository.findById(userId)
+                .map(user -> user.hasLoggedInWithinDays(PostFanoutEventListener.ACTIVE_USER_DAYS))
+                .orElse(false);
+        RoutingInputs fresh = new RoutingInputs(follows, fannedOut, null, now);
+        synchronized (inputsByUser) {
+            inputsByUser.put(userId, fresh);
+        }
+        return fresh;
+    }
+
+    private long materializedLagMs(Long userId, RoutingInputs inputs) {
+        if (inputs.materializedLagMs() != null) {
+            return inputs.materializedLagMs();
+        }
+
+        Optional<LocalDateTime> latestMaterialized = timelineStore.findLatestItemAt(userId);
+        Optional<LocalDateTime> latestPublished = postRepository.findLatestCreatedAtFromFollowedUsers(userId);
+        long materializedLagMs = latestPublished
+                .map(published -> latestMaterialized
+                        .map(materialized -> Math.max(0, Duration.between(materialized, published).toMillis()))
+                        .orElse(Long.MAX_VALUE))
+                .orElse(0L);
+        synchronized (inputsByUser) {
+            inputsByUser.replace(userId, inputs, inputs.withMaterializedLag(materializedLagMs));
+        }
+        return materializedLagMs;
+    }
+
+    private Page<FeedItemDTO> getMergedFeed(Long userId, int page, int size) {
+        int window = (page + 1) * size;
+        if (window > maxMergeWindow) {
+            return noFanoutFeedService.getUserFeedPullModel(userId, page, size);
+        }
+        int offset = page * size;
+
+        List<FeedItemDTO> merged = new ArrayList<>((window + 1) * 2);
+        merged.addAll(feedService.getUserFeed(userId, 0, window + 1).getContent());
+        merged.addAll(noFanoutFeedService.getUserFeedPullModel(userId, 0, window + 1).getContent());
+
+        Set<Long> seenPostIds = new HashSet<>();
+        List<FeedItemDTO> ordered = merged.stream()
+                .sorted(Comparator.comparing(FeedItemDTO::getCreatedAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .filter(item -> seenPostIds.add(item.getPostId()))
+                .limit(window + 1)
+                .toList();
+
+        boolean hasNext = ordered.size() > window;
+        List<FeedItemDTO> pageContent = ordered.subList(Math.min(offset, ordered.size()), Math.min(window, ordered.size()));
+        long totalElements = (long) offset + pageContent.size() + (hasNext ? 1 : 0);
+        return new PageImpl<>(new ArrayList<>(pageContent), PageRequest.of(page, size), totalElements);
+    }
+
+    public enum TimelineSource {
+        PUSH, PULL, MERGE
+    }
+
+    public record RoutingDecision(
+            TimelineSource source,
+            String reason,
+            long usersFollowing,
+            Long materializedLagMs,
+            double pushLatencyMs,
+            double pullLatencyMs) {
+    }
+
+    public record RoutedTimeline(Page<FeedItemDTO> feed, RoutingDecision decision) {
+    }
+
+    private record RoutingInputs(long follows, boolean fannedOut, Long materializedLagMs, long computedAtMillis) {
+
+        RoutingInputs withMaterializedLag(long lagMs) {
+            return new RoutingInputs(follows, fannedOut, lagMs, computedAtMillis);
+        }
+    }
+
+    private static final class LatencyEwma {
+        private static final double ALPHA = 0.2;
+        private double value;
+
+        synchronized void record(double sampleMs) {
+            value = value == 0 ? sampleMs : ALPHA * sampleMs + (1 - ALPHA) * value;
+        }
+
+        synchronized double value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.entity.FeedItem;
+import com.example.feed.entity.Post;
+import com.example.feed.model.TimelineCursor;
+import com.example.feed.model.TimelineEntry;
+import com.example.feed.repository.FeedCacheRepository;
+import com.example.feed.repository.FeedItemRepository;
+import com.example.feed.repository.FeedPartitionRepository;
+import com.example.feed.repository.FollowRepository;
+import com.example.feed.repository.PostRepository;
+import com.example.feed.repository.TimelineSegmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Single entry point for writing materialized timelines, backed either by one {@code feed_items}
+ * row per entry ({@code feed.timeline.storage=rows}) or by packed {@code timeline_segments}
+ * ({@code feed.timeline.storage=segments}).
+ */
+@Service
+public class TimelineStore {
+
+    private static final int REMOVE_BATCH_SIZE = 1000;
+
+    private final FeedPartitionRepository feedPartitionRepository;
+    private final FeedItemRepository feedItemRepository;
+    private final FeedCacheRepository feedCacheRepository;
+    private final TimelineSegmentRepository timelineSegmentRepository;
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final StorageMode storageMode;
+
+    public TimelineStore(FeedPartitionRepository feedPartitionRepository,
+            FeedItemRepository feedItemRepository,
+            FeedCacheRepository feedCacheRepository,
+            TimelineSegmentRepository timelineSegmentRepository,
+            PostRepository postRepository,
+            FollowRepository followRepository,
+            @Value("${feed.timeline.storage:rows}") String storageMode) {
+        this.feedPartitionRepository = feedPartitionRepository;
+        this.feedItemRepository = feedItemRepository;
+        this.feedCacheRepository = feedCacheRepository;
+        this.timelineSegmentRepository = timelineSegmentRepository;
+        this.postRepository = postRepository;
+        this.followRepository = followRepository;
+        this.storageMode = StorageMode.valueOf(storageMode.trim().toUpperCase());
+    }
+
+    public boolean usesSegments() {
+        return storageMode == StorageMode.SEGMENTS;
+    }
+
+    public int append(List<FeedItem> feedItems) {
+        if (!usesSegments()) {
+            return feedPartitionRepository.insertAll(feedItems);
+        }
+
+        Map<Long, List<TimelineEntry>> entriesByUser = feedItems.stream()
+                .collect(Collectors.groupingBy(FeedItem::getUserId, LinkedHashMap::new,
+                        Collectors.mapping(this::toEntry, Collectors.toList())));
+        return timelineSegmentRepository.appendAll(entriesByUser);
+    }
+
+    public void removeAuthor(Long userId, Long authorId) {
+        if (!usesSegments()) {
+            feedCacheRepository.deleteByUserIdAndAuthorId(userId, authorId);
+            return;
+        }
+        timelineSegmentRepository.removeAuthor(userId, authorId);
+        feedCacheRepository.evictAllUserFeedsFromCache();
+    }
+
+    /**
+     * In segments mode the post is removed from the timelines of the author's followers, paged by
+     * follower id, so pages are not short and {@code countEntries} stays exact.
+     */
+    public int removePost(Long postId, Long authorId, LocalDateTime createdAt) {
+        if (!usesSegments()) {
+            feedItemRepository.deleteByPostId(postId);
+            return 0;
+        }
+
+        long epochMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int removed = 0;
+        long afterId = 0;
+        List<Long> followerIds;
+        do {
+            followerIds = followRepository.findFollowerIdsAfter(authorId, afterId, PageRequest.of(0, REMOVE_BATCH_SIZE));
+            if (!followerIds.isEmpty()) {
+                removed += timelineSegmentRepository.removePost(followerIds, postId, epochMillis);
+                afterId = followerIds.get(followerIds.size() - 1);
+            }
+        } while (followerIds.size() == REMOVE_BATCH_SIZE);
+        return removed;
+    }
+
+    public int rebuild(Long userId, LocalDateTime since, LocalDateTime until, int limit) {
+        if (!usesSegments()) {
+            return feedPartitionRepository.rebuildFromFollowees(userId, since, until, limit);
+        }
+
+        List<FeedItem> items = postRepository.findPostsFromFollowedUsersBetween(userId, since, until,
+                        PageRequest.of(0, limit))
+                .stream()
+                .map(post -> new FeedItem(null, userId, post.getId(), post.getUserId(), post.getCreatedAt(), false))
+                .toList();
+        return append(items);
+    }
+
+    public Optional<LocalDateTime> findLatestItemAt(Long userId) {
+        if (!usesSegments()) {
+            return feedItemRepository.findLatestCreatedAtByUserId(userId);
+        }
+        return timelineSegmentRepository.readLatest(userId, 1).stream()
+                .findFirst()
+                .map(entry -> toLocalDateTime(entry.epochMillis()));
+    }
+
+    public Optional<TimelineCursor> findLatestCursor(Long userId) {
+        if (!usesSegments()) {
+            return feedItemRepository.findFirstByUserIdOrderByCreatedAtDesc(userId)
+                    .map(item -> TimelineCursor.of(item.getCreatedAt(), item.getPostId()));
+        }
+        return timelineSegmentRepository.readLatest(userId, 1).stream()
+                .findFirst()
+                .map(entry -> new TimelineCursor(entry.epochMillis(), entry.postId()));
+    }
+
+    public List<FeedItemDTO> readNewerThan(Long userId, TimelineCursor cursor, int limit) {
+        if (!usesSegments()) {
+            return feedItemRepository.findFeedWithPostsByUserIdSince(userId, cursor.toLocalDateTime(),
+                            PageRequest.of(0, limit + 1))
+                    .stream()
+                    .filter(item -> TimelineCursor.of(item.getCreatedAt(), item.getPostId()).isNewerThan(cursor))
+                    .limit(limit)
+                    .map(item -> new FeedItemDTO(
+                            item.getPostId(),
+                            item.getAuthorId(),
+                            item.getPostContent(),
+                            item.getCreatedAt(),
+                            item.getIsRead()))
+                    .toList();
+        }
+
+        List<TimelineEntry> newer = timelineSegmentRepository.readLatest(userId, limit).stream()
+                .filter(entry -> new TimelineCursor(entry.epochMillis(), entry.postId()).isNewerThan(cursor))
+                .toList();
+        return hydrate(newer);
+    }
+
+    public List<FeedItemDTO> readLatest(Long userId, int limit) {
+        if (!usesSegments()) {
+            return feedItemRepository.findLatestFeedWithPostsByUserId(userId, PageRequest.of(0, limit))
+                    .stream()
+                    .map(item -> new FeedItemDTO(
+                            item.getPostId(),
+                            item.getAuthorId(),
+                            item.getPostContent(),
+                            item.getCreatedAt(),
+                            item.getIsRead()))
+                    .toList();
+        }
+        return hydrate(timelineSegmentRepository.readLatest(userId, limit));
+    }
+
+    public Page<FeedItemDTO> readSegmentedPage(Long userId, int page, int size) {
+        int offset = page * size;
+        List<TimelineEntry> window = timelineSegmentRepository.readLatest(userId, offset + size);
+        List<TimelineEntry> pageEntries = window.subList(Math.min(offset, window.size()),
+                Math.min(offset + size, window.size()));
+
+        return new PageImpl<>(hydrate(pageEntries), PageRequest.of(page, size),
+                timelineSegmentRepository.countEntries(userId));
+    }
+
+    private List<FeedItemDTO> hydrate(List<TimelineEntry> entries) {
+        Map<Long, Post> posts = postRepository.findAllById(entries.stream().map(TimelineEntry::postId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return entries.stream()
+                .filter(entry -> posts.containsKey(entry.postId()))
+                .filter(entry -> Boolean.TRUE.equals(posts.get(entry.postId()).getIsActive()))
+                .map(entry -> new FeedItemDTO(
+                        entry.postId(),
+                        entry.authorId(),
+                        posts.get(entry.postId()).getContent(),
+                        toLocalDateTime(entry.epochMillis()),
+                        false))
+                .toList();
+    }
+
+    private TimelineEntry toEntry(FeedItem item) {
+        LocalDateTime createdAt = item.getCreatedAt() != null ? item.getCreatedAt() : LocalDateTime.now();
+        return new TimelineEntry(item.getPostId(), item.getAuthorId(),
+                createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    public enum StorageMode {
+        ROWS, SEGMENTS
+    }
+}
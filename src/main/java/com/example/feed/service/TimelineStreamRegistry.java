@@ -0,0 +1,236 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.event.FeedItemsDeliveredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-instance registry of Server-Sent Events connections to user timelines. Connections are held
+ * as async servlet requests (no thread per connection); each one has a bounded outbound queue that
+ * is drained on a virtual thread. When a slow client lets its queue fill up, pending items are
+ * dropped and a {@code resync} event tells the client to refetch its timeline instead. Follow
+ * backfills are not streamed: they carry older posts, not new ones.
+ */
+@Service
+public class TimelineStreamRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineStreamRegistry.class);
+
+    private final Map<Long, Set<StreamConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ExecutorService senderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter droppedItems;
+
+    private final long connectionTimeoutMs;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final int queueCapacity;
+
+    public TimelineStreamRegistry(MeterRegistry meterRegistry,
+            @Value("${feed.stream.connection-timeout:PT30M}") Duration connectionTimeout,
+            @Value("${feed.stream.max-connections:10000}") int maxConnections,
+            @Value("${feed.stream.max-connections-per-user:3}") int maxConnectionsPerUser,
+            @Value("${feed.stream.queue-capacity:100}") int queueCapacity) {
+        this.connectionTimeoutMs = connectionTimeout.toMillis();
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.queueCapacity = queueCapacity;
+        this.droppedItems = Counter.builder("feed.stream.dropped")
+                .description("Elementos descartados por clientes SSE lentos")
+                .register(meterRegistry);
+        Gauge.builder("feed.stream.connections", totalConnections, AtomicInteger::get)
+                .description("Conexiones SSE abiertas en esta instancia")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter connect(Long userId) {
+        if (totalConnections.incrementAndGet() > maxConnections) {
+            totalConnections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Límite de conexiones alcanzado");
+        }
+
+        SseEmitter emitter = new SseEmitter(connectionTimeoutMs);
+        StreamConnection connection = new StreamConnection(userId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        try {
+            connectionsByUser.compute(userId, (id, connections) -> {
+                Set<StreamConnection> updated = connections != null ? connections : ConcurrentHashMap.newKeySet();
+                if (updated.size() >= maxConnectionsPerUser) {
+                    throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                            "Demasiadas conexiones abiertas para el usuario " + userId);
+                }
+                updated.add(connection);
+                return updated;
+            });
+        } catch (ResponseStatusException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+
+        connection.offer(StreamMessage.connected());
+        schedule(connection);
+
+        log.info("Usuario {} conectado al stream del timeline ({} conexiones activas)", userId, totalConnections.get());
+        return emitter;
+    }
+
+    @EventListener
+    public void onFeedItemsDelivered(FeedItemsDeliveredEvent event) {
+        if (event.isBackfill()) {
+            return;
+        }
+        for (Long recipientId : event.getRecipientIds()) {
+            Set<StreamConnection> connections = connectionsByUser.get(recipientId);
+            if (connections == null || connections.isEmpty()) {
+                continue;
+            }
+            for (StreamConnection connection : connections) {
+                for (FeedItemDTO item : event.getItems()) {
+                    if (!connection.offer(StreamMessage.item(item))) {
+                        connection.overflow();
+                        droppedItems.increment();
+                    }
+                }
+                schedule(connection);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${feed.stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> {
+            if (connection.queue.isEmpty() && connection.offer(StreamMessage.heartbeat())) {
+                schedule(connection);
+            }
+        }));
+    }
+
+    public int countConnections() {
+        return totalConnections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> connection.emitter.complete()));
+        senderExecutor.shutdownNow();
+    }
+
+    private void schedule(StreamConnection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            senderExecutor.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(StreamConnection connection) {
+        try {
+            while (true) {
+                if (connection.overflowed.getAndSet(false)) {
+                    connection.queue.clear();
+                    connection.emitter.send(SseEmitter.event().name("resync").data(""));
+                }
+                StreamMessage message = connection.queue.poll();
+                if (message == null) {
+                    break;
+                }
+                connection.emitter.send(message.toEvent());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexión SSE del usuario {} cerrada: {}", connection.userId, e.getMessage());
+            connection.emitter.completeWithError(e);
+            unregister(connection);
+            return;
+        } finally {
+            connection.draining.set(false);
+        }
+        if (!connection.queue.isEmpty() || connection.overflowed.get()) {
+            schedule(connection);
+        }
+    }
+
+    private void unregister(StreamConnection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        totalConnections.decrementAndGet();
+        connectionsByUser.computeIfPresent(connection.userId, (userId, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static final class StreamConnection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamMessage> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        StreamConnection(Long userId, SseEmitter emitter, BlockingQueue<StreamMessage> queue) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        boolean offer(StreamMessage message) {
+            return !closed.get() && queue.offer(message);
+        }
+
+        void overflow() {
+            overflowed.set(true);
+        }
+    }
+
+    private record StreamMessage(String name, FeedItemDTO item) {
+
+        static StreamMessage connected() {
+            return new StreamMessage("connected", null);
+        }
+
+        static StreamMessage heartbeat() {
+            return new StreamMessage(null, null);
+        }
+
+        static StreamMessage item(FeedItemDTO item) {
+            return new StreamMessage("feed-item", item);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name);
+            if (item != null) {
+                return event.id(String.valueOf(item.getPostId())).data(item);
+            }
+            return event.data("");
+        }
+    }
+}
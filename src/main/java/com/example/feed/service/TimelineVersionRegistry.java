@@ -0,0 +1,188 @@
+package com.example.feed.service;
+
+import com.example.feed.event.FeedItemsDeliveredEvent;
+import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostDeactivatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
+import com.example.feed.event.UserFollowedEvent;
+import com.example.feed.event.UserUnfollowedEvent;
+import com.example.feed.repository.FollowRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user timeline versions used as ETags. A version is bumped after fanout delivers items to the
+ * user, after the user follows or unfollows someone, and for every follower of an author whose post
+ * is deactivated. The pull model additionally depends on the newest post version among the user's
+ * followees, drawn from one instance-wide sequence so it only ever grows. ETags carry a random
+ * per-instance id and a time bucket of {@code feed.etag.max-staleness}, so changes made through
+ * another instance are never hidden behind a {@code 304} for longer than that window. User versions
+ * are drawn from their own instance-wide sequence and kept in a bounded LRU; a user evicted from it
+ * comes back at the current sequence value, which every bump advances, so an ETag issued before the
+ * eviction can never match again once the timeline has changed.
+ */
+@Service
+public class TimelineVersionRegistry {
+
+    private final FollowRepository followRepository;
+    private final Map<Long, Long> versions;
+    private final AtomicLong userSequence = new AtomicLong();
+    private final AtomicLong postSequence = new AtomicLong();
+    private final AtomicLong evictedAuthorVersion = new AtomicLong();
+    private final Map<Long, Long> authorVersions;
+    private final Map<Long, Followees> followeesByUser;
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+    private final long maxStalenessMs;
+
+    public TimelineVersionRegistry(FollowRepository followRepository,
+            @Value("${feed.etag.max-staleness:PT1M}") Duration maxStaleness,
+            @Value("${feed.etag.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.followRepository = followRepository;
+        this.maxStalenessMs = Math.max(1, maxStaleness.toMillis());
+        this.versions = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        };
+        this.authorVersions = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                if (size() <= maxTrackedUsers) {
+                    return false;
+                }
+                evictedAuthorVersion.accumulateAndGet(eldest.getValue(), Math::max);
+                return true;
+            }
+        };
+        this.followeesByUser = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Followees> eldest) {
+                return size() > maxTrackedUsers;
+            }
+        };
+    }
+
+    public String timelineEtag(Long userId) {
+        return "t-" + instanceId + "-" + bucket() + "-" + versionOf(userId);
+    }
+
+    public String pullFeedEtag(Long userId) {
+        return "p-" + instanceId + "-" + bucket() + "-" + versionOf(userId) + "-" + followeePostVersion(userId);
+    }
+
+    /**
+     * Version token for cache keys of the user's materialized timeline, so pages cached before a
+     * delivery are simply never read again instead of having to be evicted by prefix.
+     */
+    public String cacheVersion(Long userId) {
+        return instanceId + "-" + versionOf(userId);
+    }
+
+    public void bump(Long userId) {
+        long version = userSequence.incrementAndGet();
+        synchronized (versions) {
+            versions.computeIfPresent(userId, (id, previous) -> version);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedItemsDelivered(FeedItemsDeliveredEvent event) {
+        event.getRecipientIds().forEach(this::bump);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserFollowed(UserFollowedEvent event) {
+        forgetFollowees(event.getFollowerId());
+        bump(event.getFollowerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUnfollowed(UserUnfollowedEvent event) {
+        forgetFollowees(event.getFollowerId());
+        bump(event.getFollowerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        bumpAuthor(event.getAuthorId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsBatchCreated(PostsBatchCreatedEvent event) {
+        event.getPosts().stream()
+                .map(PostCreatedEvent::getAuthorId)
+                .distinct()
+                .forEach(this::bumpAuthor);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeactivated(PostDeactivatedEvent event) {
+        bumpAuthor(event.getAuthorId());
+        followRepository.findFollowerIds(event.getAuthorId()).forEach(this::bump);
+    }
+
+    private void bumpAuthor(Long authorId) {
+        long version = postSequence.incrementAndGet();
+        synchronized (authorVersions) {
+            authorVersions.put(authorId, version);
+        }
+    }
+
+    private long followeePostVersion(Long userId) {
+        List<Long> followeeIds = followeesOf(userId);
+        long newest = evictedAuthorVersion.get();
+        synchronized (authorVersions) {
+            for (Long followeeId : followeeIds) {
+                Long version = authorVersions.get(followeeId);
+                if (version != null && version > newest) {
+                    newest = version;
+                }
+            }
+        }
+        return newest;
+    }
+
+    private List<Long> followeesOf(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (followeesByUser) {
+            Followees cached = followeesByUser.get(userId);
+            if (cached != null && now - cached.loadedAt() < maxStalenessMs) {
+                return cached.ids();
+            }
+        }
+
+        List<Long> ids = followRepository.findFolloweeIds(userId);
+        synchronized (followeesByUser) {
+            followeesByUser.put(userId, new Followees(ids, now));
+        }
+        return ids;
+    }
+
+    private void forgetFollowees(Long userId) {
+        synchronized (followeesByUser) {
+            followeesByUser.remove(userId);
+        }
+    }
+
+    private long versionOf(Long userId) {
+        synchronized (versions) {
+            return versions.computeIfAbsent(userId, id -> userSequence.get());
+        }
+    }
+
+    private long bucket() {
+        return System.currentTimeMillis() / maxStalenessMs;
+    }
+
+    private record Followees(List<Long> ids, long loadedAt) {
+    }
+}
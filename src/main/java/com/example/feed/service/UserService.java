@@ -1,13 +1,25 @@
 package com.example.feed.service;
 
+import com.example.feed.dto.FollowPageDTO;
 import com.example.feed.entity.User;
+import com.example.feed.event.UserReturnedEvent;
+import com.example.feed.listener.PostFanoutEventListener;
+import com.example.feed.model.FollowCursor;
+import com.example.feed.model.FollowEdge;
+import com.example.feed.repository.FollowRepository;
 import com.example.feed.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -17,23 +29,59 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
+    private final TimelinePrewarmService timelinePrewarmService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FollowRepository followRepository;
+    private final int maxFollowPageSize;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+            TimelinePrewarmService timelinePrewarmService,
+            ApplicationEventPublisher eventPublisher,
+            FollowRepository followRepository,
+            @Value("${feed.follows.max-page-size:200}") int maxFollowPageSize) {
         this.userRepository = userRepository;
+        this.timelinePrewarmService = timelinePrewarmService;
+        this.eventPublisher = eventPublisher;
+        this.followRepository = followRepository;
+        this.maxFollowPageSize = maxFollowPageSize;
     }
 
     public void updateLastLogin(Long userId) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-            log.info("Usuario {} login actualizado", userId);
+            recordLogin(userOpt.get());
         } else {
             log.warn("Usuario {} no encontrado para actualizar login", userId);
         }
     }
 
+    /**
+     * Explicit start of a client session, sent before the first timeline read: records the login and
+     * pre-warms the first timeline pages, unless the user is returning and gets a rebuild instead.
+     */
+    public void startSession(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con ID: " + userId));
+        if (!recordLogin(user)) {
+            timelinePrewarmService.enqueue(userId);
+        }
+    }
+
+    private boolean recordLogin(User user) {
+        LocalDateTime previousLoginAt = user.getLastLoginAt();
+        boolean returning = !user.hasLoggedInWithinDays(PostFanoutEventListener.ACTIVE_USER_DAYS);
+        LocalDateTime now = LocalDateTime.now();
+        user.setLastLoginAt(now);
+        userRepository.save(user);
+        log.debug("Usuario {} login actualizado", user.getId());
+        if (returning) {
+            log.info("Usuario {} vuelve tras más de {} días inactivo, reconstruyendo timeline",
+                    user.getId(), PostFanoutEventListener.ACTIVE_USER_DAYS);
+            eventPublisher.publishEvent(new UserReturnedEvent(user.getId(), previousLoginAt, now));
+        }
+        return returning;
+    }
+
     public User createUser(String username, String email, String fullName) {
         User user = new User();
         user.setUsername(username);
@@ -53,4 +101,47 @@ public class UserService {
         Optional<User> userOpt = userRepository.findById(userId);
         return userOpt.map(user -> user.hasLoggedInWithinDays(days)).orElse(false);
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public FollowPageDTO getFollowers(Long userId, String before, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, Math.max(1, Math.min(limit, maxFollowPageSize)));
+        List<FollowEdge> edges;
+        if (before == null || before.isBlank()) {
+            edges = followRepository.findFollowers(userId, pageRequest);
+        } else {
+            FollowCursor cursor = parseCursor(before);
+            edges = followRepository.findFollowersBefore(userId, cursor.toLocalDateTime(), cursor.id(), pageRequest);
+        }
+        return toPage(userId, edges, pageRequest.getPageSize());
+    }
+
+    @Transactional(readOnly = true)
+    public FollowPageDTO getFollowing(Long userId, String before, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, Math.max(1, Math.min(limit, maxFollowPageSize)));
+        List<FollowEdge> edges;
+        if (before == null || before.isBlank()) {
+            edges = followRepository.findFollowing(userId, pageRequest);
+        } else {
+            FollowCursor cursor = parseCursor(before);
+            edges = followRepository.findFollowingBefore(userId, cursor.toLocalDateTime(), cursor.id(), pageRequest);
+        }
+        return toPage(userId, edges, pageRequest.getPageSize());
+    }
+
+    private static FollowPageDTO toPage(Long userId, List<FollowEdge> edges, int pageSize) {
+        String nextCursor = null;
+        if (edges.size() == pageSize) {
+            FollowEdge last = edges.get(edges.size() - 1);
+            nextCursor = FollowCursor.of(last.createdAt(), last.id()).toString();
+        }
+        return new FollowPageDTO(userId, edges.stream().map(FollowEdge::userId).toList(), nextCursor);
+    }
+
+    private static FollowCursor parseCursor(String before) {
+        try {
+            return FollowCursor.parse(before);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.UserStatsDTO;
+import com.example.feed.entity.UserStatistics;
+import com.example.feed.event.PostCreatedEvent;
+import com.example.feed.event.PostDeactivatedEvent;
+import com.example.feed.event.PostsBatchCreatedEvent;
+import com.example.feed.event.UserFollowedEvent;
+import com.example.feed.event.UserUnfollowedEvent;
+import com.example.feed.repository.UserStatisticsBatchRepository;
+import com.example.feed.repository.UserStatisticsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps {@code user_statistics} (posts, followers and following per user) up to date without the
+ * {@code user_stats} view's joins. Committed post and follow changes accumulate as per-user deltas
+ * in memory and are added to the table every {@code feed.user-stats.flush-interval} in one
+ * statement; a rolling reconciliation recomputes exact counts for {@code reconcile-batch-size}
+ * users per run and repairs any drift.
+ */
+@Service
+public class UserStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatisticsService.class);
+
+    private final UserStatisticsRepository userStatisticsRepository;
+    private final UserStatisticsBatchRepository userStatisticsBatchRepository;
+    private final Map<Long, StatsDelta> pending = new ConcurrentHashMap<>();
+    private final AtomicLong reconcileCursor = new AtomicLong();
+    private final Counter repaired;
+
+    private final boolean reconcileEnabled;
+    private final int reconcileBatchSize;
+
+    public UserStatisticsService(UserStatisticsRepository userStatisticsRepository,
+            UserStatisticsBatchRepository userStatisticsBatchRepository,
+            MeterRegistry meterRegistry,
+            @Value("${feed.user-stats.reconcile.enabled:true}") boolean reconcileEnabled,
+            @Value("${feed.user-stats.reconcile.batch-size:500}") int reconcileBatchSize) {
+        this.userStatisticsRepository = userStatisticsRepository;
+        this.userStatisticsBatchRepository = userStatisticsBatchRepository;
+        this.reconcileEnabled = reconcileEnabled;
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.repaired = Counter.builder("feed.user-stats.repaired")
+                .description("Estadísticas de usuario corregidas por la reconciliación")
+                .register(meterRegistry);
+        Gauge.builder("feed.user-stats.pending", pending, Map::size)
+                .description("Usuarios con cambios de estadísticas pendientes de escribir")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        add(event.getAuthorId(), new StatsDelta(1, 0, 0));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsBatchCreated(PostsBatchCreatedEvent event) {
+        add(event.getAuthorId(), new StatsDelta(event.getPosts().size(), 0, 0));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeactivated(PostDeactivatedEvent event) {
+        add(event.getAuthorId(), new StatsDelta(-1, 0, 0));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserFollowed(UserFollowedEvent event) {
+        add(event.getFollowerId(), new StatsDelta(0, 0, 1));
+        add(event.getFolloweeId(), new StatsDelta(0, 1, 0));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUnfollowed(UserUnfollowedEvent event) {
+        add(event.getFollowerId(), new StatsDelta(0, 0, -1));
+        add(event.getFolloweeId(), new StatsDelta(0, -1, 0));
+    }
+
+    public UserStatsDTO getStats(Long userId) {
+        UserStatistics stored = userStatisticsRepository.findById(userId).orElse(null);
+        if (stored == null) {
+            pending.remove(userId);
+            userStatisticsBatchRepository.reconcile(List.of(userId));
+            stored = userStatisticsRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con ID: " + userId));
+        }
+
+        StatsDelta delta = pending.getOrDefault(userId, StatsDelta.ZERO);
+        return new UserStatsDTO(
+                userId,
+                Math.max(0, stored.getPostsCount() + delta.posts()),
+                Math.max(0, stored.getFollowersCount() + delta.followers()),
+                Math.max(0, stored.getFollowingCount() + delta.following()),
+                stored.getUpdatedAt());
+    }
+
+    @Scheduled(fixedDelayString = "${feed.user-stats.flush-interval:PT5S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<Long> userIds = new ArrayList<>();
+        List<Integer> posts = new ArrayList<>();
+        List<Integer> followers = new ArrayList<>();
+        List<Integer> following = new ArrayList<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            StatsDelta delta = pending.remove(userId);
+            if (delta == null || delta.isZero()) {
+                continue;
+            }
+            userIds.add(userId);
+            posts.add(delta.posts());
+            followers.add(delta.followers());
+            following.add(delta.following());
+        }
+
+        try {
+            Set<Long> missing = userStatisticsBatchRepository.applyDeltas(userIds, posts, followers, following);
+            log.info("Estadísticas de {} usuarios actualizadas en {} ms ({} inicializadas)",
+                    userIds.size(), System.currentTimeMillis() - startTime, missing.size());
+        } catch (RuntimeException e) {
+            log.error("Error actualizando estadísticas de {} usuarios, se reintentarán", userIds.size(), e);
+            for (int i = 0; i < userIds.size(); i++) {
+                add(userIds.get(i), new StatsDelta(posts.get(i), followers.get(i), following.get(i)));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${feed.user-stats.reconcile.interval:PT1M}",
+            initialDelayString = "${feed.user-stats.reconcile.initial-delay:PT5M}")
+    public void reconcileNextBatch() {
+        if (!reconcileEnabled) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            List<Long> userIds = userStatisticsBatchRepository.findUserIdsAfter(reconcileCursor.get(), reconcileBatchSize);
+            reconcileCursor.set(userIds.size() < reconcileBatchSize ? 0 : userIds.get(userIds.size() - 1));
+            if (userIds.isEmpty()) {
+                return;
+            }
+
+            flush();
+            int fixed = userStatisticsBatchRepository.reconcile(userIds);
+            repaired.increment(fixed);
+            if (fixed > 0) {
+                log.warn("Reconciliación de estadísticas corrigió {} de {} usuarios en {} ms",
+                        fixed, userIds.size(), System.currentTimeMillis() - startTime);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en la reconciliación de estadísticas de usuario", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(Long userId, StatsDelta delta) {
+        pending.merge(userId, delta, StatsDelta::plus);
+    }
+
+    private record StatsDelta(int posts, int followers, int following) {
+
+        static final StatsDelta ZERO = new StatsDelta(0, 0, 0);
+
+        StatsDelta plus(StatsDelta other) {
+            return new StatsDelta(posts + other.posts, followers + other.followers, following + other.following);
+        }
+
+        boolean isZero() {
+            return posts == 0 && followers == 0 && following == 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.feed.config;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.dto.TimelinePageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes a representative {@link TimelinePageDTO} through the JSON, CBOR and Smile converters
+ * directly, so the payload comparison measures encoding alone rather than HTTP round trips.
+ */
+class WireFormatConfigTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    private final Map<MediaType, AbstractJackson2HttpMessageConverter> converters = new LinkedHashMap<>();
+    private TimelinePageDTO page;
+
+    @BeforeEach
+    void setUp() {
+        WireFormatConfig config = new WireFormatConfig();
+        converters.put(MediaType.APPLICATION_JSON,
+                new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()));
+        converters.put(MediaType.parseMediaType("application/cbor"),
+                config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()));
+        converters.put(MediaType.parseMediaType("application/x-jackson-smile"),
+                config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()));
+
+        List<FeedItemDTO> items = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long postId = 1; postId <= PAGE_SIZE; postId++) {
+            String content = ("Post " + postId + " sobre el feed, con algo de texto para parecerse a uno real. ")
+                    .repeat((int) (postId % 4) + 1);
+            items.add(new FeedItemDTO(1_000_000 + postId, postId % 7 + 1, content, now.minusMinutes(postId * 3), postId % 3 == 0));
+        }
+        page = new TimelinePageDTO(items, 0, PAGE_SIZE, true);
+    }
+
+    @Test
+    void everyFormatRoundTripsTheTimelinePage() throws IOException {
+        for (Map.Entry<MediaType, AbstractJackson2HttpMessageConverter> entry : converters.entrySet()) {
+            byte[] body = write(entry.getValue(), entry.getKey());
+
+            TimelinePageDTO read = (TimelinePageDTO) entry.getValue().read(TimelinePageDTO.class, new MockHttpInputMessage(body));
+
+            assertThat(read.items()).as(entry.getKey().toString()).hasSize(PAGE_SIZE);
+            assertThat(read.items().get(0)).usingRecursiveComparison().isEqualTo(page.items().get(0));
+            assertThat(read.hasNext()).isTrue();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void comparesPayloadSizeAndEncodingThroughput() throws IOException {
+        for (Map.Entry<MediaType, AbstractJackson2HttpMessageConverter> entry : converters.entrySet()) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                write(entry.getValue(), entry.getKey());
+            }
+
+            int size = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                size = write(entry.getValue(), entry.getKey()).length;
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            System.out.printf("%s: %d bytes, %d páginas/s%n",
+                    entry.getKey(), size, MEASURED_ROUNDS * 1_000_000_000L / elapsedNanos);
+            assertThat(size).isPositive();
+        }
+    }
+
+    private byte[] write(AbstractJackson2HttpMessageConverter converter, MediaType mediaType) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(page, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+}
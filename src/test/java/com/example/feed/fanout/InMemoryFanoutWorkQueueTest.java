@@ -0,0 +1,119 @@
+package com.example.feed.fanout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryFanoutWorkQueueTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    private InMemoryFanoutWorkQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new InMemoryFanoutWorkQueue();
+    }
+
+    @Test
+    void deliversPublishedUnitsInOrderAndKeepsThemPendingUntilAcked() {
+        queue.publish(List.of(unit(1L, 10L), unit(1L, 11L), unit(1L, 12L)));
+
+        List<FanoutDelivery> first = queue.poll("c1", 2, NO_WAIT);
+
+        assertThat(first).extracting(delivery -> delivery.unit().afterFollowerId()).containsExactly(10L, 11L);
+        assertThat(first).allMatch(delivery -> delivery.deliveries() == 1);
+        assertThat(queue.readyCount()).isEqualTo(1);
+        assertThat(queue.pendingCount()).isEqualTo(2);
+        assertThat(queue.backlog()).isEqualTo(3);
+
+        queue.ack(first.get(0).id());
+
+        assertThat(queue.pendingCount()).isEqualTo(1);
+        assertThat(queue.backlog()).isEqualTo(2);
+    }
+
+    @Test
+    void pollReturnsNothingOnceTheBlockElapses() {
+        assertThat(queue.poll("c1", 10, Duration.ofMillis(20))).isEmpty();
+    }
+
+    @Test
+    void reclaimsOnlyUnitsIdleForLongEnoughAndCountsRedeliveries() throws InterruptedException {
+        queue.publish(List.of(unit(1L, 10L)));
+        FanoutDelivery delivered = queue.poll("c1", 1, NO_WAIT).get(0);
+
+        assertThat(queue.reclaim("c2", Duration.ofMinutes(1), 10)).isEmpty();
+
+        Thread.sleep(5);
+        List<FanoutDelivery> reclaimed = queue.reclaim("c2", Duration.ofMillis(1), 10);
+
+        assertThat(reclaimed).singleElement().satisfies(delivery -> {
+            assertThat(delivery.id()).isEqualTo(delivered.id());
+            assertThat(delivery.deliveries()).isEqualTo(2);
+        });
+        assertThat(queue.reclaim("c3", Duration.ofMinutes(1), 10)).isEmpty();
+        assertThat(queue.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reclaimHonoursTheCount() throws InterruptedException {
+        queue.publish(List.of(unit(1L, 10L), unit(1L, 11L), unit(1L, 12L)));
+        queue.poll("c1", 3, NO_WAIT);
+        Thread.sleep(5);
+
+        assertThat(queue.reclaim("c2", Duration.ofMillis(1), 2)).hasSize(2);
+    }
+
+    @Test
+    void deadLetteredUnitsLeaveThePendingList() {
+        queue.publish(List.of(unit(1L, 10L)));
+        FanoutDelivery delivery = queue.poll("c1", 1, NO_WAIT).get(0);
+
+        queue.deadLetter(delivery);
+
+        assertThat(queue.pendingCount()).isZero();
+        assertThat(queue.backlog()).isZero();
+        assertThat(queue.deadLetters()).containsExactly(delivery);
+    }
+
+    @Test
+    void acknowledgedUnitsAreNeverRedelivered() throws InterruptedException {
+        queue.publish(List.of(unit(1L, 10L)));
+        FanoutDelivery delivery = queue.poll("c1", 1, NO_WAIT).get(0);
+        queue.ack(delivery.id());
+        queue.trimAcknowledged();
+        Thread.sleep(5);
+
+        assertThat(queue.reclaim("c2", Duration.ofMillis(1), 10)).isEmpty();
+        assertThat(queue.poll("c2", 10, NO_WAIT)).isEmpty();
+    }
+
+    @Test
+    void workUnitsRoundTripThroughJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        FanoutWorkUnit unit = unit(7L, 10L);
+
+        FanoutWorkUnit decoded = objectMapper.readValue(objectMapper.writeValueAsString(unit), FanoutWorkUnit.class);
+
+        assertThat(decoded).isEqualTo(unit);
+        assertThat(decoded.toEvents()).singleElement().satisfies(event -> {
+            assertThat(event.getPostId()).isEqualTo(100L);
+            assertThat(event.getAuthorId()).isEqualTo(7L);
+        });
+    }
+
+    private static FanoutWorkUnit unit(Long authorId, Long afterFollowerId) {
+        FanoutWorkUnit.PostRef post = new FanoutWorkUnit.PostRef(100L, "hola",
+                LocalDateTime.of(2024, 1, 1, 12, 0), Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        return new FanoutWorkUnit(authorId, afterFollowerId, afterFollowerId + 1000, List.of(post));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.feed.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimelineCursorTest {
+
+    @Test
+    void roundTripsThroughItsStringForm() {
+        TimelineCursor cursor = new TimelineCursor(1_700_000_000_123L, 42);
+
+        assertThat(cursor.toString()).isEqualTo("1700000000123_42");
+        assertThat(TimelineCursor.parse(cursor.toString())).isEqualTo(cursor);
+    }
+
+    @Test
+    void parsesBlankAsEmptyAndBareMillisWithoutPostId() {
+        assertThat(TimelineCursor.parse(null)).isEqualTo(TimelineCursor.EMPTY);
+        assertThat(TimelineCursor.parse("  ")).isEqualTo(TimelineCursor.EMPTY);
+        assertThat(TimelineCursor.parse(" 1500 ")).isEqualTo(new TimelineCursor(1500, 0));
+        assertThat(TimelineCursor.parse("1500_ 7")).isEqualTo(new TimelineCursor(1500, 7));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> TimelineCursor.parse("abc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("abc");
+        assertThatThrownBy(() -> TimelineCursor.parse("1500_x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ordersByTimeThenPostId() {
+        TimelineCursor older = new TimelineCursor(1000, 9);
+        TimelineCursor sameTimeLowerId = new TimelineCursor(2000, 1);
+        TimelineCursor sameTimeHigherId = new TimelineCursor(2000, 2);
+
+        assertThat(sameTimeLowerId.isNewerThan(older)).isTrue();
+        assertThat(sameTimeHigherId.isNewerThan(sameTimeLowerId)).isTrue();
+        assertThat(sameTimeHigherId.isNewerThan(sameTimeHigherId)).isFalse();
+        assertThat(older.isNewerThan(TimelineCursor.EMPTY)).isTrue();
+    }
+
+    @Test
+    void convertsToAndFromLocalDateTimeAtMillisecondPrecision() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 10, 12, 30, 15, 250_000_000);
+
+        TimelineCursor cursor = TimelineCursor.of(createdAt, 5);
+
+        assertThat(cursor.postId()).isEqualTo(5);
+        assertThat(cursor.toLocalDateTime()).isEqualTo(createdAt);
+    }
+}
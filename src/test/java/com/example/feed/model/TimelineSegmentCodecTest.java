@@ -0,0 +1,66 @@
+package com.example.feed.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineSegmentCodecTest {
+
+    private static final List<TimelineEntry> ENTRIES = List.of(
+            new TimelineEntry(1, 10, 1_000),
+            new TimelineEntry(Long.MAX_VALUE, 20, 2_000),
+            new TimelineEntry(3, Long.MAX_VALUE, Long.MAX_VALUE));
+
+    @Test
+    void encodesFixedWidthEntries() {
+        byte[] payload = TimelineSegmentCodec.encode(ENTRIES);
+
+        assertThat(payload).hasSize(ENTRIES.size() * TimelineSegmentCodec.ENTRY_BYTES);
+        assertThat(TimelineSegmentCodec.entryCount(payload)).isEqualTo(ENTRIES.size());
+    }
+
+    @Test
+    void decodesEachEntryByIndex() {
+        byte[] payload = TimelineSegmentCodec.encode(ENTRIES);
+
+        for (int i = 0; i < ENTRIES.size(); i++) {
+            assertThat(TimelineSegmentCodec.entryAt(payload, i)).isEqualTo(ENTRIES.get(i));
+        }
+    }
+
+    @Test
+    void iteratesNewestFirst() {
+        byte[] payload = TimelineSegmentCodec.encode(ENTRIES);
+        List<TimelineEntry> visited = new ArrayList<>();
+
+        TimelineSegmentCodec.forEachNewestFirst(payload, visited::add);
+
+        assertThat(visited).containsExactly(ENTRIES.get(2), ENTRIES.get(1), ENTRIES.get(0));
+    }
+
+    @Test
+    void concatenatedPayloadsDecodeAsOneSegment() {
+        byte[] first = TimelineSegmentCodec.encode(ENTRIES.subList(0, 1));
+        byte[] second = TimelineSegmentCodec.encode(ENTRIES.subList(1, 3));
+        byte[] appended = new byte[first.length + second.length];
+        System.arraycopy(first, 0, appended, 0, first.length);
+        System.arraycopy(second, 0, appended, first.length, second.length);
+
+        assertThat(appended).isEqualTo(TimelineSegmentCodec.encode(ENTRIES));
+    }
+
+    @Test
+    void handlesEmptySegments() {
+        byte[] payload = TimelineSegmentCodec.encode(List.of());
+        List<TimelineEntry> visited = new ArrayList<>();
+
+        TimelineSegmentCodec.forEachNewestFirst(payload, visited::add);
+
+        assertThat(payload).isEmpty();
+        assertThat(TimelineSegmentCodec.entryCount(payload)).isZero();
+        assertThat(visited).isEmpty();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.LikeStatusDTO;
+import com.example.feed.entity.Post;
+import com.example.feed.event.PostLikedEvent;
+import com.example.feed.repository.LikeBatchRepository;
+import com.example.feed.repository.LikeRepository;
+import com.example.feed.repository.PostCacheRepository;
+import com.example.feed.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long POST_ID = 10L;
+    private static final Long AUTHOR_ID = 2L;
+
+    private LikeRepository likeRepository;
+    private LikeBatchRepository likeBatchRepository;
+    private PostCacheRepository postCacheRepository;
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private LikeService likeService;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        likeBatchRepository = mock(LikeBatchRepository.class);
+        postCacheRepository = mock(PostCacheRepository.class);
+        userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        likeService = new LikeService(likeRepository, likeBatchRepository, postCacheRepository, userRepository,
+                eventPublisher, new SimpleMeterRegistry());
+
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        when(postCacheRepository.findById(POST_ID)).thenReturn(Optional.of(post(POST_ID, true, 5)));
+    }
+
+    @Test
+    void likeAddsOneToThePersistedCountOnlyOnce() {
+        LikeStatusDTO first = likeService.like(USER_ID, POST_ID);
+        LikeStatusDTO second = likeService.like(USER_ID, POST_ID);
+
+        assertThat(first.liked()).isTrue();
+        assertThat(first.likesCount()).isEqualTo(6);
+        assertThat(second.likesCount()).isEqualTo(6);
+        verify(likeRepository, times(1)).existsByUserIdAndPostId(USER_ID, POST_ID);
+    }
+
+    @Test
+    void unlikeOfAPersistedLikeSubtractsOne() {
+        when(likeRepository.existsByUserIdAndPostId(USER_ID, POST_ID)).thenReturn(true);
+
+        LikeStatusDTO status = likeService.unlike(USER_ID, POST_ID);
+
+        assertThat(status.liked()).isFalse();
+        assertThat(status.likesCount()).isEqualTo(4);
+    }
+
+    @Test
+    void likeThenUnlikeRestoresTheCountAndFlushesOnlyTheUnlike() {
+        when(likeBatchRepository.apply(List.of(), List.of(), List.of(USER_ID), List.of(POST_ID)))
+                .thenReturn(new LikeBatchRepository.AppliedLikes(List.of(), Map.of()));
+        likeService.like(USER_ID, POST_ID);
+        LikeStatusDTO status = likeService.unlike(USER_ID, POST_ID);
+
+        likeService.flush();
+
+        assertThat(status.likesCount()).isEqualTo(5);
+        verify(likeBatchRepository).apply(List.of(), List.of(), List.of(USER_ID), List.of(POST_ID));
+        verify(eventPublisher, never()).publishEvent(any(PostLikedEvent.class));
+    }
+
+    @Test
+    void unlikeWithoutAPersistedLikeIsANoOp() {
+        LikeStatusDTO status = likeService.unlike(USER_ID, POST_ID);
+
+        likeService.flush();
+
+        assertThat(status.likesCount()).isEqualTo(5);
+        verify(likeBatchRepository, never()).apply(anyList(), anyList(), anyList(), anyList());
+    }
+
+    @Test
+    void rejectsUnknownUsersBeforeBufferingAnything() {
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> likeService.like(99L, POST_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+        likeService.flush();
+
+        verify(likeBatchRepository, never()).apply(anyList(), anyList(), anyList(), anyList());
+    }
+
+    @Test
+    void rejectsMissingAndInactivePosts() {
+        when(postCacheRepository.findById(20L)).thenReturn(Optional.empty());
+        when(postCacheRepository.findById(21L)).thenReturn(Optional.of(post(21L, false, 0)));
+
+        assertThatThrownBy(() -> likeService.like(USER_ID, 20L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> likeService.like(USER_ID, 21L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void flushWritesTheBatchAndClearsPendingDeltas() {
+        LikeBatchRepository.InsertedLike inserted = new LikeBatchRepository.InsertedLike(USER_ID, POST_ID, AUTHOR_ID,
+                LocalDateTime.now());
+        when(likeBatchRepository.apply(List.of(USER_ID), List.of(POST_ID), List.of(), List.of()))
+                .thenReturn(new LikeBatchRepository.AppliedLikes(List.of(inserted), Map.of(POST_ID, 1)));
+        likeService.like(USER_ID, POST_ID);
+
+        likeService.flush();
+
+        assertThat(likeService.currentLikesCount(POST_ID, 6)).isEqualTo(6);
+        verify(postCacheRepository).evictPostFromCache(POST_ID);
+        verify(eventPublisher).publishEvent(any(PostLikedEvent.class));
+    }
+
+    @Test
+    void toggleDuringFlushStartsFromTheInFlightStateAndIsWrittenNext() {
+        LikeBatchRepository.InsertedLike inserted = new LikeBatchRepository.InsertedLike(USER_ID, POST_ID, AUTHOR_ID,
+                LocalDateTime.now());
+        LikeStatusDTO[] duringFlush = new LikeStatusDTO[1];
+        when(likeBatchRepository.apply(List.of(USER_ID), List.of(POST_ID), List.of(), List.of()))
+                .thenAnswer(invocation -> {
+                    duringFlush[0] = likeService.unlike(USER_ID, POST_ID);
+                    return new LikeBatchRepository.AppliedLikes(List.of(inserted), Map.of(POST_ID, 1));
+                });
+        when(likeBatchRepository.apply(List.of(), List.of(), List.of(USER_ID), List.of(POST_ID)))
+                .thenReturn(new LikeBatchRepository.AppliedLikes(List.of(), Map.of(POST_ID, -1)));
+        likeService.like(USER_ID, POST_ID);
+
+        likeService.flush();
+
+        assertThat(duringFlush[0].liked()).isFalse();
+        assertThat(duringFlush[0].likesCount()).isEqualTo(5);
+        assertThat(likeService.currentLikesCount(POST_ID, 6)).isEqualTo(5);
+        verify(likeRepository, times(1)).existsByUserIdAndPostId(USER_ID, POST_ID);
+
+        likeService.flush();
+
+        verify(likeBatchRepository).apply(List.of(), List.of(), List.of(USER_ID), List.of(POST_ID));
+        assertThat(likeService.currentLikesCount(POST_ID, 5)).isEqualTo(5);
+    }
+
+    @Test
+    void failedBatchDropsRejectedRowsAndRequeuesTransientFailures() {
+        Long rejectedPostId = 11L;
+        when(postCacheRepository.findById(rejectedPostId)).thenReturn(Optional.of(post(rejectedPostId, true, 0)));
+        when(likeBatchRepository.apply(List.of(USER_ID, USER_ID), List.of(POST_ID, rejectedPostId), List.of(), List.of()))
+                .thenThrow(new DataIntegrityViolationException("batch"));
+        when(likeBatchRepository.apply(List.of(USER_ID), List.of(rejectedPostId), List.of(), List.of()))
+                .thenThrow(new DataIntegrityViolationException("post borrado"));
+        when(likeBatchRepository.apply(List.of(USER_ID), List.of(POST_ID), List.of(), List.of()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new LikeBatchRepository.AppliedLikes(List.of(), Map.of(POST_ID, 1)));
+        likeService.like(USER_ID, POST_ID);
+        likeService.like(USER_ID, rejectedPostId);
+
+        likeService.flush();
+
+        assertThat(likeService.currentLikesCount(POST_ID, 5)).isEqualTo(6);
+        assertThat(likeService.currentLikesCount(rejectedPostId, 0)).isZero();
+        verify(postCacheRepository, never()).evictPostFromCache(POST_ID);
+        verify(postCacheRepository).evictPostFromCache(rejectedPostId);
+
+        likeService.flush();
+
+        assertThat(likeService.currentLikesCount(POST_ID, 6)).isEqualTo(6);
+        verify(postCacheRepository).evictPostFromCache(POST_ID);
+        verify(likeBatchRepository, times(1)).apply(List.of(USER_ID), List.of(rejectedPostId), List.of(), List.of());
+    }
+
+    private static Post post(Long id, boolean active, int likesCount) {
+        Post post = new Post(id, AUTHOR_ID, "contenido", LocalDateTime.now(), active);
+        post.setLikesCount(likesCount);
+        return post;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.feed.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void keepsPostIdsSortedWhenAddedOutOfOrder() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.add(5, 1);
+        list.add(20, 2);
+        list.add(1, 3);
+        list.add(12, 1);
+
+        assertThat(list.decodePostIds()).containsExactly(1, 5, 12, 20);
+        assertThat(list.size()).isEqualTo(4);
+    }
+
+    @Test
+    void ignoresDuplicatePostIds() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.add(5, 1);
+        list.add(9, 1);
+        list.add(5, 1);
+
+        assertThat(list.decodePostIds()).containsExactly(5, 9);
+    }
+
+    @Test
+    void filtersByAuthor() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.add(1, 10);
+        list.add(2, 20);
+        list.add(3, 10);
+        list.add(4, 30);
+
+        assertThat(list.decodeFiltered(Set.of(10L, 30L))).containsExactly(1, 3, 4);
+        assertThat(list.decodeFiltered(Set.of(99L))).isEmpty();
+    }
+
+    @Test
+    void encodesSmallDeltasInOneByteAndLargeValuesInVarints() {
+        PostSearchIndex.PostingList dense = new PostSearchIndex.PostingList();
+        for (long postId = 1; postId <= 100; postId++) {
+            dense.add(postId, 1);
+        }
+        assertThat(dense.encodedBytes()).isEqualTo(200);
+
+        PostSearchIndex.PostingList sparse = new PostSearchIndex.PostingList();
+        sparse.add(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        sparse.add(Long.MAX_VALUE, 1L << 40);
+
+        assertThat(sparse.decodePostIds()).containsExactly(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+        assertThat(sparse.decodeFiltered(Set.of(1L << 40))).containsExactly(Long.MAX_VALUE);
+    }
+
+    @Test
+    void removeAllDropsPostsAndKeepsTheRestDecodable() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        for (long postId = 1; postId <= 6; postId++) {
+            list.add(postId * 100, postId % 2);
+        }
+
+        int removed = list.removeAll(Set.of(200L, 500L, 999L));
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(list.decodePostIds()).containsExactly(100, 300, 400, 600);
+        assertThat(list.decodeFiltered(Set.of(0L))).containsExactly(400, 600);
+
+        list.add(250, 0);
+        assertThat(list.decodePostIds()).containsExactly(100, 250, 300, 400, 600);
+    }
+}
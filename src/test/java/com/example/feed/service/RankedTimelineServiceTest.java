@@ -0,0 +1,119 @@
+package com.example.feed.service;
+
+import com.example.feed.dto.FeedItemDTO;
+import com.example.feed.model.AuthorAffinity;
+import com.example.feed.model.PostEngagement;
+import com.example.feed.repository.LikeRepository;
+import com.example.feed.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Times {@link RankedTimelineService#rank} directly over a synthetic candidate window, so the
+ * measurement covers scoring and the bounded heap rather than the {@code rankedFeeds} cache.
+ */
+class RankedTimelineServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final int AUTHORS = 50;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 200;
+
+    private Properties properties;
+    private int candidateWindow;
+    private Duration latencyBudget;
+    private RankedTimelineService service;
+    private List<FeedItemDTO> candidates;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        candidateWindow = Integer.parseInt(properties.getProperty("feed.ranking.candidate-window"));
+        latencyBudget = Duration.parse(properties.getProperty("feed.ranking.latency-budget"));
+
+        candidates = new ArrayList<>(candidateWindow);
+        List<PostEngagement> engagement = new ArrayList<>(candidateWindow);
+        LocalDateTime now = LocalDateTime.now();
+        for (long postId = 1; postId <= candidateWindow; postId++) {
+            long authorId = postId % AUTHORS + 1;
+            candidates.add(new FeedItemDTO(postId, authorId, "post " + postId, now.minusMinutes(postId * 7), false));
+            engagement.add(new PostEngagement(postId, (int) (postId * 31 % 1000)));
+        }
+        List<AuthorAffinity> affinity = new ArrayList<>(AUTHORS);
+        for (long authorId = 1; authorId <= AUTHORS; authorId++) {
+            affinity.add(new AuthorAffinity(authorId, authorId % 7));
+        }
+
+        PostRepository postRepository = mock(PostRepository.class, withSettings().stubOnly());
+        when(postRepository.findEngagementByIdIn(any())).thenReturn(engagement);
+        LikeRepository likeRepository = mock(LikeRepository.class, withSettings().stubOnly());
+        when(likeRepository.findAuthorAffinity(eq(USER_ID), any())).thenReturn(affinity);
+        LikeService likeService = mock(LikeService.class, withSettings().stubOnly());
+        when(likeService.currentLikesCount(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(1).longValue());
+
+        service = new RankedTimelineService(mock(TimelineStore.class), postRepository, likeRepository, likeService,
+                new SimpleMeterRegistry(), candidateWindow,
+                Duration.parse(properties.getProperty("feed.ranking.half-life")),
+                Double.parseDouble(properties.getProperty("feed.ranking.recency-weight")),
+                Double.parseDouble(properties.getProperty("feed.ranking.affinity-weight")),
+                Double.parseDouble(properties.getProperty("feed.ranking.engagement-weight")),
+                Duration.parse(properties.getProperty("feed.ranking.affinity-period")),
+                latencyBudget);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void ranksFullCandidateWindowWithinLatencyBudget() {
+        int k = 20;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            service.rank(USER_ID, candidates, k);
+        }
+
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            service.rank(USER_ID, candidates, k);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        Duration p50 = Duration.ofNanos(samples[MEASURED_ROUNDS / 2]);
+        Duration p99 = Duration.ofNanos(samples[MEASURED_ROUNDS * 99 / 100]);
+        System.out.printf("rank: p50=%s p99=%s sobre %d candidatos%n", p50, p99, candidateWindow);
+
+        assertThat(p99)
+                .as("p50=%s p99=%s sobre %d candidatos", p50, p99, candidateWindow)
+                .isLessThanOrEqualTo(latencyBudget);
+    }
+
+    @Test
+    void keepsTopKInDescendingScoreOrder() {
+        List<FeedItemDTO> ranked = service.rank(USER_ID, candidates, 20);
+
+        assertThat(ranked).hasSize(20).doesNotHaveDuplicates();
+        List<FeedItemDTO> deeper = service.rank(USER_ID, candidates, 40);
+        assertThat(deeper.subList(0, 20)).containsExactlyElementsOf(ranked);
+    }
+}